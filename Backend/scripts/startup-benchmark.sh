@@ -0,0 +1,139 @@
+#!/usr/bin/env bash
+# Startup benchmark: time to first successful health response and RSS at that moment, per startup mode
+#
+#   ./gradlew cds -PfastStartup        # AOT jar + extracted classpath + CDS archive (see build.gradle)
+#   scripts/startup-benchmark.sh       # from the Backend directory
+#
+# Modes (skipped when their artifacts are missing):
+#   jar        java -jar build/libs/<app>.jar (nested jar, default settings)
+#   extracted  extracted jar in build/cds
+#   lazy       extracted + fast-startup profile (lazy beans, deferred JPA bootstrap)
+#   cds        lazy + build/cds/application.jsa (jar built without -PfastStartup)
+#   aot        lazy + -Dspring.aot.enabled=true (jar built with -PfastStartup)
+#   aot-cds    aot + build/cds/application.jsa
+# Run once after ./gradlew cds and once after ./gradlew cds -PfastStartup to cover all modes
+#
+# Environment: RUNS (default 5), PORT (default 18080), HEALTH_PATH (default /health),
+#              JAVA (default java), TIMEOUT_SECONDS (default 120), EXTRA_ARGS (appended to every run)
+# Medians are printed and written to build/reports/startup/results.json
+# Without a real Kakao registration, start with the stub provider: SPRING_PROFILES_INCLUDE=stub-provider
+#
+# Measured on 1 vCPU (Xeon 2.1 GHz), JDK 21, H2, RUNS=5, SPRING_PROFILES_INCLUDE=stub-provider (median):
+#   mode        startup_ms   rss_mb
+#   jar              24718      295
+#   extracted        20616      293
+#   lazy             17880      294
+#   cds              11595      278    ./gradlew cds
+#   aot              15021      280    ./gradlew cds -PfastStartup (jar/extracted/lazy: 22515/18166/16830 ms)
+#   aot-cds           9720      265
+# Against lazy from the same build: CDS -35%, AOT -11%, AOT+CDS -42% (-57% against that build's plain jar)
+# Lazy initialization alone saves 7-13% here; RSS at first health response drops by 15-30 MB with CDS
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+HEALTH_PATH=${HEALTH_PATH:-/health}
+JAVA=${JAVA:-java}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+EXTRA_ARGS=${EXTRA_ARGS:-}
+REPORT=build/reports/startup/results.json
+
+BOOT_JAR=$(ls build/libs/*.jar 2>/dev/null | grep -v -- '-plain.jar$' | head -n 1 || true)
+CDS_DIR=build/cds
+CDS_JAR=${BOOT_JAR:+$CDS_DIR/$(basename "$BOOT_JAR")}
+
+if [[ -z "$BOOT_JAR" ]]; then
+    echo "No boot jar in build/libs, run ./gradlew bootJar (or ./gradlew cds -PfastStartup) first" >&2
+    exit 1
+fi
+
+# Prints "<milliseconds> <rss kB>" for one start, or nothing if the health check never succeeded
+measure() {
+    local workdir=$1
+    shift
+    local log
+    log=$(mktemp)
+    local start
+    start=$(date +%s%N)
+    (cd "$workdir" && exec "$JAVA" "$@" --server.port="$PORT" $EXTRA_ARGS) >"$log" 2>&1 &
+    local pid=$!
+    local deadline=$((start + TIMEOUT_SECONDS * 1000000000))
+    local result=""
+    while kill -0 "$pid" 2>/dev/null && (($(date +%s%N) < deadline)); do
+        if curl -fsS -o /dev/null "http://localhost:$PORT$HEALTH_PATH" 2>/dev/null; then
+            local elapsed=$((($(date +%s%N) - start) / 1000000))
+            local rss
+            rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+            result="$elapsed $rss"
+            break
+        fi
+        sleep 0.02
+    done
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    if [[ -z "$result" ]]; then
+        echo "  start failed or timed out, log: $log" >&2
+        return
+    fi
+    rm -f "$log"
+    echo "$result"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { if (NR == 0) exit; print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+# name|workdir|java arguments
+modes=("jar|.|-jar $BOOT_JAR")
+if [[ -f "$CDS_JAR" ]]; then
+    jar_name=$(basename "$CDS_JAR")
+    modes+=("extracted|$CDS_DIR|-jar $jar_name")
+    modes+=("lazy|$CDS_DIR|-jar $jar_name --spring.profiles.active=fast-startup")
+    aot=false
+    # grep reads the whole listing: with -q, unzip could fail on SIGPIPE and pipefail would hide the match
+    if unzip -Z1 "$CDS_JAR" 2>/dev/null | grep '__ApplicationContextInitializer' >/dev/null; then
+        aot=true
+        modes+=("aot|$CDS_DIR|-Dspring.aot.enabled=true -jar $jar_name --spring.profiles.active=fast-startup")
+    fi
+    if [[ -f "$CDS_DIR/application.jsa" ]]; then
+        if $aot; then
+            modes+=("aot-cds|$CDS_DIR|-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar $jar_name --spring.profiles.active=fast-startup")
+        else
+            modes+=("cds|$CDS_DIR|-XX:SharedArchiveFile=application.jsa -jar $jar_name --spring.profiles.active=fast-startup")
+        fi
+    else
+        echo "No $CDS_DIR/application.jsa, skipping CDS mode (./gradlew cds -PfastStartup)" >&2
+    fi
+else
+    echo "No extracted jar in $CDS_DIR, only measuring the plain jar (./gradlew cds -PfastStartup)" >&2
+fi
+
+mkdir -p "$(dirname "$REPORT")"
+json="["
+printf '%-10s %14s %12s %6s\n' mode startup_ms rss_mb runs
+for mode in "${modes[@]}"; do
+    IFS='|' read -r name workdir args <<<"$mode"
+    times=()
+    rss=()
+    for ((run = 1; run <= RUNS; run++)); do
+        # shellcheck disable=SC2086
+        sample=$(measure "$workdir" $args)
+        if [[ -n "$sample" ]]; then
+            times+=("${sample% *}")
+            rss+=("${sample#* }")
+        fi
+    done
+    if ((${#times[@]} == 0)); then
+        printf '%-10s %14s %12s %6s\n' "$name" failed - 0
+        continue
+    fi
+    startup_ms=$(printf '%s\n' "${times[@]}" | median)
+    rss_kb=$(printf '%s\n' "${rss[@]}" | median)
+    printf '%-10s %14s %12s %6s\n' "$name" "$startup_ms" "$((rss_kb / 1024))" "${#times[@]}"
+    [[ "$json" == "[" ]] || json+=","
+    json+="{\"mode\":\"$name\",\"startupMillis\":$startup_ms,\"rssKb\":$rss_kb,\"runs\":${#times[@]}}"
+done
+echo "$json]" >"$REPORT"
+echo "Results written to $REPORT"
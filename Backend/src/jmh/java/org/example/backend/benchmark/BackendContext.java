@@ -0,0 +1,45 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.BackendApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Shared application context for benchmarks that need Spring beans
+ * In-memory H2 and the embedded stub Kakao provider (stub-provider profile),
+ * so the login path runs end to end without network access
+ */
+@State(Scope.Benchmark)
+public class BackendContext {
+
+    static final int PORT = 18080;
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setAdditionalProfiles("stub-provider");
+        context = application.run(
+                "--server.port=" + PORT,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN",
+                "--spring.devtools.restart.enabled=false");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Cache.UserCache;
+import org.example.backend.User.Controller.UserController;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserController.getCurrentUser against H2 (response body served from UserResponseCache)
+ * warm: user served from UserCache
+ * cold: cache entry invalidated before each call (database lookup, body reused when the row is unchanged)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CurrentUserBenchmark {
+
+    private static final String PROVIDER = "kakao";
+    private static final String OAUTH_ID = "987654321";
+
+    @Param({"warm", "cold"})
+    private String cache;
+
+    private UserController userController;
+    private UserCache userCache;
+    private CachedUser user;
+    private UserPrincipal principal;
+
+    @Setup
+    public void setUp(BackendContext backend) {
+        userController = backend.bean(UserController.class);
+        userCache = backend.bean(UserCache.class);
+        user = backend.bean(UserRepository.class)
+                .upsert(PROVIDER, OAUTH_ID, "bench@example.com", "BenchUser", LocalDateTime.now())
+                .user();
+        principal = new UserPrincipal(user.id(), PROVIDER, OAUTH_ID, Role.USER);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getCurrentUser() {
+        if ("cold".equals(cache)) {
+            userCache.invalidate(user);
+        }
+        return userController.getCurrentUser(principal);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.auth.dto.KakaoUserInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KakaoUserInfo attribute parsing
+ * full: id, email and nickname present
+ * noNickname: name falls back to the email local part (getDefaultName)
+ * noAccount: no kakao_account at all (email null, default name)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KakaoUserInfoBenchmark {
+
+    @Param({"full", "noNickname", "noAccount"})
+    private String shape;
+
+    private Map<String, Object> attributes;
+
+    @Setup
+    public void setUp() {
+        attributes = kakaoAttributes(shape);
+    }
+
+    @Benchmark
+    public void parseAll(Blackhole blackhole) {
+        KakaoUserInfo userInfo = KakaoUserInfo.from(attributes);
+        blackhole.consume(userInfo.getId());
+        blackhole.consume(userInfo.getEmail());
+        blackhole.consume(userInfo.getName());
+    }
+
+    @Benchmark
+    public String name() {
+        return KakaoUserInfo.from(attributes).getName();
+    }
+
+    static Map<String, Object> kakaoAttributes(String shape) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("id", 123456789L);
+        attributes.put("connected_at", "2024-01-01T00:00:00Z");
+        if ("noAccount".equals(shape)) {
+            return attributes;
+        }
+        Map<String, Object> profile = new HashMap<>();
+        if (!"noNickname".equals(shape)) {
+            profile.put("nickname", "UserNickname");
+        }
+        profile.put("thumbnail_image_url", "http://k.kakaocdn.net/dn/thumb.jpg");
+        Map<String, Object> kakaoAccount = new HashMap<>();
+        kakaoAccount.put("email", "user@example.com");
+        kakaoAccount.put("is_email_valid", true);
+        kakaoAccount.put("profile", profile);
+        attributes.put("kakao_account", kakaoAccount);
+        return attributes;
+    }
+}
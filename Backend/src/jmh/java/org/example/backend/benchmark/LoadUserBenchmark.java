@@ -0,0 +1,51 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.auth.service.OAuth2UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OAuth2UserService.loadUser against the stub provider and H2
+ * Covers the user-info HTTP call, attribute mapping and the user lookup/write
+ * Users are drawn from a fixed pool, so after warmup this is the returning-user path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoadUserBenchmark {
+
+    private static final int USER_POOL = 1000;
+
+    private OAuth2UserService oAuth2UserService;
+    private ClientRegistration kakao;
+
+    @Setup
+    public void setUp(BackendContext backend) {
+        oAuth2UserService = backend.bean(OAuth2UserService.class);
+        kakao = backend.bean(ClientRegistrationRepository.class).findByRegistrationId("kakao");
+    }
+
+    @Benchmark
+    public OAuth2User loadUser() {
+        long userId = 1 + ThreadLocalRandom.current().nextLong(USER_POOL);
+        Instant now = Instant.now();
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(
+                OAuth2AccessToken.TokenType.BEARER, "stub-" + userId, now, now.plus(1, ChronoUnit.HOURS));
+        return oAuth2UserService.loadUser(new OAuth2UserRequest(kakao, accessToken));
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login-path logging under a simulated login storm (16 threads logging concurrently)
+ * appender: sync (FileAppender, caller does the I/O) or async (bounded AsyncAppender, neverBlock)
+ * style:    before - the previous per-login lines (formatted, email included, debug attribute map)
+ *           after  - structured key-values with 1% sampling of the per-login lines
+ * Logs go to a temporary file through a private LoggerContext, the application logging is untouched
+ *
+ * ./gradlew jmh -PjmhIncludes=LoginLogging
+ *
+ * Measured on 1 vCPU (Xeon 2.1 GHz), JDK 21, logins/ms:
+ *           before          after
+ * sync      18.7 ± 5.1      2,614 ± 690
+ * async     20.0 ± 2.8      2,578 ± 340
+ * The 130-140x comes from the style (sampled, cheaper lines). With one CPU the async appender's drain thread
+ * competes with the callers, so it is within noise of sync here (not measured with spare cores or a slow sink)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class LoginLoggingBenchmark {
+
+    private static final double SAMPLE_RATE = 0.01;
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"before", "after"})
+    private String style;
+
+    private LoggerContext context;
+    private Logger log;
+    private Path logFile;
+    private Map<String, Object> attributes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("login-logging", ".log");
+        context = new LoggerContext();
+        context.start();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m %kvp%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> root = file;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1024);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+        log = context.getLogger("org.example.backend.auth.service.OAuth2UserService");
+        log.setLevel(ch.qos.logback.classic.Level.INFO);
+        log.addAppender(root);
+        log.setAdditive(false);
+
+        attributes = KakaoUserInfoBenchmark.kakaoAttributes("full");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void login() {
+        long userId = 1 + ThreadLocalRandom.current().nextLong(10_000);
+        if ("before".equals(style)) {
+            log.info("OAuth2 login attempt - Provider: {}", "kakao");
+            log.debug("OAuth2 Attributes: {}", attributes);
+            log.info("Existing user login - ID: {}, Email: {}", userId, "user" + userId + "@example.com");
+            log.info("OAuth2 login success - User: {}", userId);
+        } else {
+            log.atTrace().setMessage("OAuth2 attributes").addKeyValue("attributes", () -> attributes).log();
+            if (ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+                log.atInfo().setMessage("OAuth2 login")
+                        .addKeyValue("provider", "kakao")
+                        .addKeyValue("userId", userId)
+                        .log();
+            }
+            if (ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+                log.atInfo().setMessage("OAuth2 login success").addKeyValue("userId", userId).log();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.backend.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.BackendApplication;
+import org.example.backend.User.Domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JPA insert throughput per id strategy (app.user.id.strategy)
+ * Each invocation persists BATCH users in one transaction with hibernate.jdbc.batch_size=BATCH,
+ * score is users per second. Own context per strategy (not BackendContext, which uses the defaults)
+ *
+ * ./gradlew jmh -PjmhIncludes=UserInsert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserInsertBenchmark {
+
+    private static final int BATCH = 50;
+
+    @Param({"pooled", "time-ordered"})
+    private String strategy;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setAdditionalProfiles("stub-provider");
+        context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:insert-" + strategy + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + BATCH,
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--app.user.id.strategy=" + strategy,
+                "--logging.level.root=WARN",
+                "--spring.devtools.restart.enabled=false");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void persistBatch() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < BATCH; i++) {
+                long n = sequence.incrementAndGet();
+                entityManager.persist(User.builder()
+                        .provider("kakao")
+                        .oauthId("bench-" + n)
+                        .email("bench" + n + "@example.com")
+                        .name("BenchUser" + n)
+                        .build());
+            }
+            entityManager.flush();
+        });
+    }
+}
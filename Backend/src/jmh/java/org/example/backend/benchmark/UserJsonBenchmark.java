@@ -0,0 +1,114 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Dto.UserResponseDto;
+import org.example.backend.User.Json.UserJsonWriter;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User response serialization: Jackson (previous path) vs UserJsonWriter
+ * user: /api/users/me body (Jackson: builder + reflection-based UserResponseDto serialization)
+ * attributes: /api/users/me/attributes body (Jackson: principal attribute map)
+ * ascii: plain profile, escaped: Korean nickname with quotes and a newline (escaping path)
+ * Setup fails if the writer output differs from Jackson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserJsonBenchmark {
+
+    @Param({"ascii", "escaped"})
+    private String profile;
+
+    /**
+     * Same settings as the Spring Boot ObjectMapper (ISO dates, nulls included)
+     */
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private CachedUser user;
+    private UserPrincipal principal;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+
+    @Setup
+    public void setUp() throws IOException {
+        String name = "ascii".equals(profile) ? "BenchUser" : "벤치 \"유저\"\n";
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_450_000);
+        user = new CachedUser(123456789L, "kakao", "987654321", "bench@example.com", name,
+                Role.USER, createdAt, createdAt, createdAt);
+        principal = new UserPrincipal(user.id(), user.provider(), user.oauthId(), user.role());
+
+        String jackson = new String(jacksonUser(), StandardCharsets.UTF_8);
+        String writer = new String(writerUser(), StandardCharsets.UTF_8);
+        if (!jackson.equals(writer)) {
+            throw new IllegalStateException("UserJsonWriter differs from Jackson:\n" + jackson + "\n" + writer);
+        }
+        Map<?, ?> jacksonAttributes = objectMapper.readValue(jacksonAttributes(), Map.class);
+        Map<?, ?> writerAttributes = objectMapper.readValue(writerAttributes(), Map.class);
+        if (!jacksonAttributes.equals(writerAttributes)) {
+            throw new IllegalStateException("Attribute JSON differs: " + jacksonAttributes + " / " + writerAttributes);
+        }
+    }
+
+    @Benchmark
+    public byte[] jacksonUser() throws IOException {
+        UserResponseDto dto = UserResponseDto.builder()
+                .id(user.id())
+                .email(user.email())
+                .name(user.name())
+                .role(user.role().name())
+                .provider(user.provider())
+                .createdAt(user.createdAt())
+                .build();
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] writerUser() {
+        return UserJsonWriter.user(user);
+    }
+
+    /**
+     * Streaming into a reused buffer, as the message converter does into the response buffer
+     */
+    @Benchmark
+    public int writerUserStreaming() throws IOException {
+        buffer.reset();
+        UserJsonWriter.writeUser(user, buffer);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public byte[] jacksonAttributes() throws IOException {
+        return objectMapper.writeValueAsBytes(principal.getAttributes());
+    }
+
+    @Benchmark
+    public byte[] writerAttributes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        UserJsonWriter.writePrincipalAttributes(principal, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fake Kakao authorization server and user-info API on the JDK HTTP server
+ * Runs outside the application's Tomcat, so provider calls cost the application
+ * a real HTTP round trip without competing for its request threads
+ *
+ * GET  /oauth/authorize?redirect_uri=..&state=..&stub_user=N  302 back with code=N
+ * POST /oauth/token (code=N)                                   access token "fake-N"
+ * GET  /v2/user/me (Bearer fake-N)                             Kakao-shaped user N
+ */
+final class FakeAuthorizationServer implements AutoCloseable {
+
+    private static final String TOKEN_PREFIX = "fake-";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration userInfoLatency;
+
+    FakeAuthorizationServer(Duration userInfoLatency) throws IOException {
+        this.userInfoLatency = userInfoLatency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/oauth/authorize", this::authorize);
+        server.createContext("/oauth/token", this::token);
+        server.createContext("/v2/user/me", this::userInfo);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void authorize(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+        String redirectUri = query.get("redirect_uri");
+        String user = query.get("stub_user");
+        if (redirectUri == null || user == null) {
+            send(exchange, 400, null);
+            return;
+        }
+        String location = redirectUri + (redirectUri.contains("?") ? "&" : "?") + "code=" + encode(user)
+                + (query.containsKey("state") ? "&state=" + encode(query.get("state")) : "");
+        exchange.getResponseHeaders().set("Location", location);
+        send(exchange, 302, null);
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String code = parseForm(body).get("code");
+        if (!"POST".equals(exchange.getRequestMethod()) || code == null) {
+            send(exchange, 400, "{\"error\":\"invalid_request\"}");
+            return;
+        }
+        send(exchange, 200, "{\"access_token\":\"" + TOKEN_PREFIX + code + "\",\"token_type\":\"bearer\","
+                + "\"expires_in\":21599,\"scope\":\"profile_nickname account_email\"}");
+    }
+
+    private void userInfo(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+            send(exchange, 401, null);
+            return;
+        }
+        if (!userInfoLatency.isZero()) {
+            try {
+                Thread.sleep(userInfoLatency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String user = authorization.substring(("Bearer " + TOKEN_PREFIX).length());
+        send(exchange, 200, "{\"id\":" + Long.parseLong(user) + ",\"connected_at\":\"2024-01-01T00:00:00Z\","
+                + "\"kakao_account\":{\"email\":\"user" + user + "@example.com\","
+                + "\"profile\":{\"nickname\":\"LoadUser" + user + "\"}}}");
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        try (exchange) {
+            if (json == null) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    static Map<String, String> parseForm(String raw) {
+        Map<String, String> values = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return values;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            values.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static URI withStubUser(String location, long user) {
+        return URI.create(location + (location.contains("?") ? "&" : "?") + "stub_user=" + user);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency samples of one operation
+ * Not thread-safe: one instance per worker, merged when the run is over
+ */
+final class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void merge(LatencyStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i]);
+        }
+        errors += other.errors;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    double errorRate() {
+        long attempts = count + errors;
+        return attempts == 0 ? 0 : (double) errors / attempts;
+    }
+
+    double throughput(double seconds) {
+        return seconds > 0 ? count / seconds : 0;
+    }
+
+    /**
+     * Nearest-rank percentile of the successful operations
+     * @param percentile 0 < percentile <= 1
+     */
+    double percentileMillis(double percentile) {
+        return percentileMillis(sorted(), percentile);
+    }
+
+    Map<String, Object> summary(double seconds) {
+        long[] sorted = sorted();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("errorRate", errorRate());
+        summary.put("throughputPerSecond", round(throughput(seconds)));
+        summary.put("p50Ms", round(percentileMillis(sorted, 0.50)));
+        summary.put("p99Ms", round(percentileMillis(sorted, 0.99)));
+        summary.put("p999Ms", round(percentileMillis(sorted, 0.999)));
+        summary.put("maxMs", round(percentileMillis(sorted, 1.0)));
+        return summary;
+    }
+
+    private long[] sorted() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,375 @@
+package org.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent login load test
+ * Starts the application on in-memory H2 against FakeAuthorizationServer and runs full browser-style
+ * login round trips (SecurityConfig -> OAuth2UserService -> OAuth2SuccessHandler), each followed by
+ * /api/users/me calls (the second and later ones conditional, If-None-Match)
+ *
+ * ./gradlew loadTest -Ploadtest.concurrency=200 -Ploadtest.logins=5000 (settings: see Settings)
+ * The JSON report is written to loadtest.report, the process exits with 1 when a threshold is exceeded
+ */
+public final class LoginLoadTest {
+
+    private static final String REGISTRATION = "kakao";
+    private static final String SUCCESS_REDIRECT = "http://loadtest.invalid/done";
+
+    private final Settings settings;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final AtomicLong nextNewUser = new AtomicLong(1);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private LoginLoadTest(Settings settings, String baseUrl) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        boolean passed;
+        try (FakeAuthorizationServer provider = new FakeAuthorizationServer(settings.userInfoLatency());
+             ConfigurableApplicationContext application = startApplication(provider, settings)) {
+            int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            passed = new LoginLoadTest(settings, "http://127.0.0.1:" + port).run();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(FakeAuthorizationServer provider, Settings settings) {
+        String registration = "--spring.security.oauth2.client.registration." + REGISTRATION + ".";
+        String providerPrefix = "--spring.security.oauth2.client.provider." + REGISTRATION + ".";
+        String limit = String.valueOf(Math.max(settings.concurrency() * 2, 100));
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--app.logging.login-sample-rate=0",
+                "--app.oauth2.redirect-uri=" + SUCCESS_REDIRECT,
+                registration + "client-id=loadtest",
+                registration + "client-secret=loadtest-secret",
+                registration + "client-authentication-method=client_secret_post",
+                registration + "authorization-grant-type=authorization_code",
+                registration + "redirect-uri={baseUrl}/login/oauth2/code/{registrationId}",
+                registration + "scope=profile_nickname,account_email",
+                providerPrefix + "authorization-uri=" + provider.baseUrl() + "/oauth/authorize",
+                providerPrefix + "token-uri=" + provider.baseUrl() + "/oauth/token",
+                providerPrefix + "user-info-uri=" + provider.baseUrl() + "/v2/user/me",
+                providerPrefix + "user-name-attribute=id",
+                // Every virtual user comes from 127.0.0.1: keep the limiter in the path but out of the way
+                "--app.rate-limit.ip.capacity=1000000",
+                "--app.rate-limit.ip.refill-per-second=1000000",
+                "--app.rate-limit.provider.capacity=1000000",
+                "--app.rate-limit.provider.refill-per-second=1000000",
+                "--app.rate-limit.max-concurrent-logins=" + limit,
+                "--app.user-info-client.max-connections=" + limit,
+                "--app.user-info-client.max-concurrent-calls=" + limit));
+        // Later arguments win, e.g. -Ploadtest.appArgs="--app.auth.session-mode=jwt --app.session.store=file"
+        args.addAll(settings.appArgs());
+        return SpringApplication.run(BackendApplication.class, args.toArray(String[]::new));
+    }
+
+    private boolean run() throws Exception {
+        System.out.printf("Warm-up: %d logins, %d virtual users%n", settings.warmupLogins(), settings.concurrency());
+        drive(settings.warmupLogins());
+        errors.clear();
+
+        System.out.printf("Measuring: %d logins, %d virtual users%n", settings.logins(), settings.concurrency());
+        long start = System.nanoTime();
+        List<LatencyStats[]> results = drive(settings.logins());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyStats logins = new LatencyStats();
+        LatencyStats me = new LatencyStats();
+        for (LatencyStats[] worker : results) {
+            logins.merge(worker[0]);
+            me.merge(worker[1]);
+        }
+        List<String> violations = settings.check(logins, me, seconds);
+        writeReport(logins, me, seconds, violations);
+        System.out.printf("logins: %s%n/me:    %s%n", logins.summary(seconds), me.summary(seconds));
+        violations.forEach(violation -> System.out.println("FAILED: " + violation));
+        return violations.isEmpty();
+    }
+
+    /**
+     * Run the given number of logins on concurrency virtual users
+     * @return Per worker [login stats, /me stats]
+     */
+    private List<LatencyStats[]> drive(int total) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(total);
+        List<Future<LatencyStats[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                workers.add(executor.submit(() -> {
+                    LatencyStats logins = new LatencyStats();
+                    LatencyStats me = new LatencyStats();
+                    while (remaining.getAndDecrement() > 0) {
+                        session(logins, me);
+                    }
+                    return new LatencyStats[]{logins, me};
+                }));
+            }
+        }
+        List<LatencyStats[]> results = new ArrayList<>();
+        for (Future<LatencyStats[]> worker : workers) {
+            results.add(worker.get());
+        }
+        return results;
+    }
+
+    /**
+     * One browser session: login round trip, then /api/users/me calls with the resulting cookies
+     */
+    private void session(LatencyStats logins, LatencyStats me) {
+        Map<String, String> cookies = new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            if (!login(cookies, pickUser())) {
+                logins.error();
+                return;
+            }
+            logins.record(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            logins.error();
+            error("login:" + e.getClass().getSimpleName());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        String etag = null;
+        for (int call = 0; call < settings.meCalls(); call++) {
+            long callStart = System.nanoTime();
+            try {
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/me"));
+                if (etag != null) {
+                    request.header("If-None-Match", etag);
+                }
+                HttpResponse<Void> response = send(request, cookies);
+                int status = response.statusCode();
+                if (status != 200 && status != 304) {
+                    me.error();
+                    error("me:" + status);
+                    continue;
+                }
+                etag = response.headers().firstValue("ETag").orElse(etag);
+                me.record(System.nanoTime() - callStart);
+            } catch (IOException | RuntimeException e) {
+                me.error();
+                error("me:" + e.getClass().getSimpleName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Authorization redirect -> fake provider -> callback, as a browser with redirects turned off
+     * @return true if the callback redirected to the success URL
+     */
+    private boolean login(Map<String, String> cookies, long user) throws IOException, InterruptedException {
+        HttpResponse<Void> authorization = send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/oauth2/authorization/" + REGISTRATION)), cookies);
+        if (authorization.statusCode() != 302) {
+            error("authorization:" + authorization.statusCode());
+            return false;
+        }
+        URI providerUri = location(authorization);
+        HttpResponse<Void> consent = send(HttpRequest.newBuilder(
+                FakeAuthorizationServer.withStubUser(providerUri.toString(), user)), new HashMap<>());
+        if (consent.statusCode() != 302) {
+            error("provider:" + consent.statusCode());
+            return false;
+        }
+        HttpResponse<Void> callback = send(HttpRequest.newBuilder(location(consent)), cookies);
+        String target = callback.headers().firstValue("Location").orElse("");
+        if (callback.statusCode() != 302 || !target.equals(SUCCESS_REDIRECT)) {
+            error("callback:" + callback.statusCode() + (target.contains("error") ? ":error" : ""));
+            return false;
+        }
+        return true;
+    }
+
+    private HttpResponse<Void> send(HttpRequest.Builder request, Map<String, String> cookies)
+            throws IOException, InterruptedException {
+        if (!cookies.isEmpty()) {
+            StringBuilder header = new StringBuilder();
+            cookies.forEach((name, value) -> header.append(header.isEmpty() ? "" : "; ").append(name).append('=').append(value));
+            request.header("Cookie", header.toString());
+        }
+        HttpResponse<Void> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        // Minimal cookie jar: JSESSIONID/SESSION, authorization request and token cookies, all on one host
+        for (String setCookie : response.headers().allValues("Set-Cookie")) {
+            String pair = setCookie.split(";", 2)[0];
+            int eq = pair.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            String name = pair.substring(0, eq).trim();
+            String value = pair.substring(eq + 1).trim();
+            if (value.isEmpty() || setCookie.toLowerCase(Locale.ROOT).contains("max-age=0")) {
+                cookies.remove(name);
+            } else {
+                cookies.put(name, value);
+            }
+        }
+        return response;
+    }
+
+    private static URI location(HttpResponse<?> response) {
+        String location = response.headers().firstValue("Location")
+                .orElseThrow(() -> new IllegalStateException("Redirect without Location"));
+        return response.uri().resolve(location);
+    }
+
+    /**
+     * New user with probability newUserRatio (first login, registration), otherwise a user that already logged in
+     */
+    private long pickUser() {
+        long registered = nextNewUser.get() - 1;
+        if (registered == 0 || ThreadLocalRandom.current().nextDouble() < settings.newUserRatio()) {
+            return nextNewUser.getAndIncrement();
+        }
+        return 1 + ThreadLocalRandom.current().nextLong(registered);
+    }
+
+    private void error(String key) {
+        errors.computeIfAbsent(key, ignored -> new LongAdder()).increment();
+    }
+
+    private void writeReport(LatencyStats logins, LatencyStats me, double seconds, List<String> violations)
+            throws IOException {
+        Map<String, Object> errorCounts = new TreeMap<>();
+        errors.forEach((key, count) -> errorCounts.put(key, count.sum()));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings.describe());
+        report.put("durationSeconds", Math.round(seconds * 1000) / 1000.0);
+        report.put("logins", logins.summary(seconds));
+        report.put("me", me.summary(seconds));
+        report.put("errors", errorCounts);
+        report.put("violations", violations);
+        report.put("passed", violations.isEmpty());
+        Path path = settings.report();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    /**
+     * Load test settings (system properties loadtest.*, passed by the Gradle task from -Ploadtest.*)
+     * @param concurrency        Virtual users running login sessions in parallel
+     * @param logins             Measured login sessions
+     * @param warmupLogins       Sessions run before measuring (JIT, pools, caches)
+     * @param newUserRatio       Share of first-time logins (0..1)
+     * @param meCalls            /api/users/me calls after each login
+     * @param userInfoLatency    Artificial latency of the fake user-info endpoint
+     * @param maxErrorRate       Threshold: failed logins + failed /me calls per attempt
+     * @param maxLoginP99Millis  Threshold: p99 of the full login round trip
+     * @param maxMeP99Millis     Threshold: p99 of /api/users/me
+     * @param minLoginThroughput Threshold: logins per second (0 disables)
+     * @param appArgs            Extra application arguments (space separated)
+     * @param report             JSON report path
+     */
+    record Settings(int concurrency, int logins, int warmupLogins, double newUserRatio, int meCalls,
+                    Duration userInfoLatency, double maxErrorRate, double maxLoginP99Millis,
+                    double maxMeP99Millis, double minLoginThroughput, List<String> appArgs, Path report) {
+
+        static Settings fromSystemProperties() {
+            String appArgs = System.getProperty("loadtest.appArgs", "").trim();
+            return new Settings(
+                    Integer.getInteger("loadtest.concurrency", 200),
+                    Integer.getInteger("loadtest.logins", 5000),
+                    Integer.getInteger("loadtest.warmupLogins", 500),
+                    doubleProperty("loadtest.newUserRatio", 0.2),
+                    Integer.getInteger("loadtest.meCalls", 2),
+                    Duration.ofMillis(Long.getLong("loadtest.userInfoLatencyMs", 0)),
+                    doubleProperty("loadtest.maxErrorRate", 0.001),
+                    doubleProperty("loadtest.maxLoginP99Ms", 1000),
+                    doubleProperty("loadtest.maxMeP99Ms", 200),
+                    doubleProperty("loadtest.minLoginThroughput", 0),
+                    appArgs.isEmpty() ? List.of() : List.of(appArgs.split("\\s+")),
+                    Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/results.json")));
+        }
+
+        List<String> check(LatencyStats logins, LatencyStats me, double seconds) {
+            List<String> violations = new ArrayList<>();
+            long attempts = logins.count() + logins.errors() + me.count() + me.errors();
+            double errorRate = attempts == 0 ? 0 : (double) (logins.errors() + me.errors()) / attempts;
+            if (errorRate > maxErrorRate) {
+                violations.add("error rate " + errorRate + " > " + maxErrorRate);
+            }
+            if (logins.percentileMillis(0.99) > maxLoginP99Millis) {
+                violations.add("login p99 " + logins.percentileMillis(0.99) + "ms > " + maxLoginP99Millis + "ms");
+            }
+            if (me.percentileMillis(0.99) > maxMeP99Millis) {
+                violations.add("/me p99 " + me.percentileMillis(0.99) + "ms > " + maxMeP99Millis + "ms");
+            }
+            if (minLoginThroughput > 0 && logins.throughput(seconds) < minLoginThroughput) {
+                violations.add("login throughput " + logins.throughput(seconds) + "/s < " + minLoginThroughput + "/s");
+            }
+            return violations;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("concurrency", concurrency);
+            values.put("logins", logins);
+            values.put("warmupLogins", warmupLogins);
+            values.put("newUserRatio", newUserRatio);
+            values.put("meCalls", meCalls);
+            values.put("userInfoLatencyMs", userInfoLatency.toMillis());
+            values.put("maxErrorRate", maxErrorRate);
+            values.put("maxLoginP99Ms", maxLoginP99Millis);
+            values.put("maxMeP99Ms", maxMeP99Millis);
+            values.put("minLoginThroughput", minLoginThroughput);
+            values.put("appArgs", appArgs);
+            return values;
+        }
+
+        private static double doubleProperty(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            return value != null ? Double.parseDouble(value) : defaultValue;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/Write DataSource Routing Configuration
+ * Enabled when app.datasource.replica.jdbc-url is set:
+ * - primary: spring.datasource.* (+ spring.datasource.hikari.*), all writes
+ * - replica: app.datasource.replica.* (Hikari properties), @Transactional(readOnly = true) work
+ * Both pools are exposed as beans, so hikaricp.* metrics are tagged pool=primary / pool=replica
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.jdbc-url")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return ReadOnlyRoutingDataSource.routing(primary, replica);
+    }
+}
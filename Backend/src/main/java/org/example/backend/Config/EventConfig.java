@@ -0,0 +1,14 @@
+package org.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Domain Event Configuration
+ * Events are appended to the event_outbox table in the publishing transaction (EventOutbox)
+ * and delivered in batches to @EventListener methods by the scheduled OutboxDispatcher
+ */
+@Configuration
+@EnableScheduling
+public class EventConfig {
+}
@@ -1,71 +1,198 @@
 package org.example.backend.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.auth.handler.OAuth2FailureHandler;
 import org.example.backend.auth.handler.OAuth2SuccessHandler;
+import org.example.backend.auth.jwt.CookieOAuth2AuthorizationRequestRepository;
+import org.example.backend.auth.jwt.JwtAuthenticationFilter;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.example.backend.auth.ratelimit.LoginRateLimitFilter;
 import org.example.backend.auth.service.OAuth2UserService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestRedirectFilter;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 /**
  * Spring Security Configuration
  * OAuth2 Social Login Security Settings
+ * app.auth.session-mode selects session-based (default) or stateless JWT authentication
  */
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String STUB_PROVIDER_PROFILE = "stub-provider";
+
     private final OAuth2UserService oAuth2UserService;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
+    private final OAuth2FailureHandler oAuth2FailureHandler;
+    private final LoginAdmissionControl loginAdmissionControl;
+    /**
+     * Only available in jwt mode
+     */
+    private final ObjectProvider<JwtTokenProvider> jwtTokenProvider;
+    private final Environment environment;
+
+    /**
+     * Authentication state mode (session or jwt)
+     */
+    @Value("${app.auth.session-mode:session}")
+    private SessionMode sessionMode;
+
+    /**
+     * Secure flag for auth cookies (enable behind HTTPS)
+     */
+    @Value("${app.jwt.cookie-secure:false}")
+    private boolean cookieSecure;
+
+    /**
+     * Rate limiting of the OAuth2 login endpoints
+     */
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        boolean stateless = sessionMode == SessionMode.JWT;
+        boolean stubProvider = environment.acceptsProfiles(Profiles.of(STUB_PROVIDER_PROFILE));
+
         http
                 // Disable CSRF for REST API
                 .csrf(csrf -> csrf.disable())
-                
+
                 // Session management policy
+                // JWT mode never creates or reads an HttpSession
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                        .sessionCreationPolicy(stateless ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED)
                 )
-                
+
                 // Disable default login form (use social login only)
                 .formLogin(form -> form.disable())
-                
+
                 // Disable HTTP Basic authentication
                 .httpBasic(basic -> basic.disable())
-                
+
                 // Request authorization settings
-                .authorizeHttpRequests(auth -> auth
-                        // Public endpoints (no authentication required)
-                        .requestMatchers(
-                                "/",
-                                "/health",
-                                "/oauth2/**",
-                                "/login/oauth2/**"
-                        ).permitAll()
-                        // All other requests require authentication
-                        .anyRequest().authenticated()
-                )
-                
+                .authorizeHttpRequests(auth -> {
+                    // Public endpoints (no authentication required)
+                    auth.requestMatchers(
+                            "/",
+                            // Liveness/readiness and metrics scrape (no user data)
+                            "/actuator/health/**",
+                            "/actuator/prometheus",
+                            "/oauth2/**",
+                            "/login/oauth2/**",
+                            JwtTokenProvider.REFRESH_PATH
+                    ).permitAll();
+                    if (stubProvider) {
+                        // StubKakaoProviderController only exists with this profile
+                        auth.requestMatchers("/stub/**").permitAll();
+                    }
+                    auth
+                            // Admin API (Role.ADMIN)
+                            .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                            // All other requests require authentication
+                            .anyRequest().authenticated();
+                })
+
                 // OAuth2 login configuration
-                .oauth2Login(oauth2 -> oauth2
-                        // User info endpoint configuration
-                        .userInfoEndpoint(userInfo -> userInfo
-                                .userService(oAuth2UserService)
-                        )
-                        // Success handler
-                        .successHandler(oAuth2SuccessHandler)
-                );
-        
+                .oauth2Login(oauth2 -> {
+                    oauth2
+                            // User info endpoint configuration
+                            .userInfoEndpoint(userInfo -> userInfo
+                                    .userService(oAuth2UserService)
+                            )
+                            // Success handler
+                            .successHandler(oAuth2SuccessHandler)
+                            // Failure handler (logins rejected by the concurrency cap start over)
+                            .failureHandler(oAuth2FailureHandler);
+
+                    if (stateless) {
+                        // Keep the pending authorization request in a signed cookie instead of the session
+                        oauth2.authorizationEndpoint(authorization -> authorization
+                                .authorizationRequestRepository(new CookieOAuth2AuthorizationRequestRepository(
+                                        jwtTokenProvider.getObject().getSecretKey(), cookieSecure))
+                        );
+                        // Provider access tokens are not used after login, so don't keep them in memory
+                        oauth2.authorizedClientRepository(noOpAuthorizedClientRepository());
+                    }
+                });
+
+        if (stateless) {
+            JwtTokenProvider tokens = jwtTokenProvider.getObject();
+            http
+                    // Saved requests would otherwise be stored in the session
+                    .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                    // Authenticate each request from its access token
+                    .addFilterBefore(new JwtAuthenticationFilter(tokens), UsernamePasswordAuthenticationFilter.class)
+                    // Logging out only ends a JWT login once the browser drops both token cookies
+                    .logout(logout -> logout
+                            .addLogoutHandler((request, response, authentication) ->
+                                    tokens.expireTokenCookies(response)));
+        }
+
+        if (rateLimitEnabled) {
+            // Before the authorization redirect and callback filters
+            http.addFilterBefore(new LoginRateLimitFilter(loginAdmissionControl),
+                    OAuth2AuthorizationRequestRedirectFilter.class);
+        }
+
         // Frame options for iframe usage
         http.headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
         return http.build();
     }
-}
 
+    /**
+     * Load-balancer probes (HealthController) bypass the security filter chain entirely:
+     * no SecurityContext, session or header writing per probe
+     * Spring Security logs a warning for ignored paths, intended here (the endpoints expose no data)
+     */
+    @Bean
+    public WebSecurityCustomizer webSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers("/health", "/health/**");
+    }
+
+    private static OAuth2AuthorizedClientRepository noOpAuthorizedClientRepository() {
+        return new OAuth2AuthorizedClientRepository() {
+            @Override
+            public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(String clientRegistrationId,
+                                                                             Authentication principal,
+                                                                             HttpServletRequest request) {
+                return null;
+            }
+
+            @Override
+            public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient,
+                                             Authentication principal,
+                                             HttpServletRequest request,
+                                             HttpServletResponse response) {
+            }
+
+            @Override
+            public void removeAuthorizedClient(String clientRegistrationId,
+                                               Authentication principal,
+                                               HttpServletRequest request,
+                                               HttpServletResponse response) {
+            }
+        };
+    }
+}
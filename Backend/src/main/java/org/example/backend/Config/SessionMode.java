@@ -0,0 +1,18 @@
+package org.example.backend.config;
+
+/**
+ * Authentication state mode
+ * Selected at startup with app.auth.session-mode
+ */
+public enum SessionMode {
+
+    /**
+     * Server-side HttpSession holds the SecurityContext (default)
+     */
+    SESSION,
+
+    /**
+     * Stateless: signed access/refresh tokens in cookies or Authorization header
+     */
+    JWT
+}
@@ -0,0 +1,81 @@
+package org.example.backend.config;
+
+import org.example.backend.session.ExternalizedSessionRepository;
+import org.example.backend.session.MappedFileSessionStore;
+import org.example.backend.session.SessionCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Externalized Session Store Configuration
+ * app.session.store=file replaces the Tomcat in-heap HttpSession with sessions kept in a
+ * memory-mapped file (survives restarts, shared by instances on the same host)
+ * Only relevant in session mode, jwt mode never creates a session
+ * Note: the session cookie is named SESSION instead of JSESSIONID with this store
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "file")
+public class SessionStoreConfig {
+
+    @Value("${app.session.file.path:./data/sessions.db}")
+    private Path path;
+
+    /**
+     * Number of sessions the file can hold
+     */
+    @Value("${app.session.file.slots:32768}")
+    private int slots;
+
+    /**
+     * Bytes per session slot (encoded session must fit, multiple of 8)
+     */
+    @Value("${app.session.file.slot-size:4096}")
+    private int slotSize;
+
+    @Value("${app.session.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    /**
+     * Sessions smaller than this are stored uncompressed
+     */
+    @Value("${app.session.compression.threshold:256}")
+    private int compressionThreshold;
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
+
+    /**
+     * Unmodified sessions persist their last access time at most once per interval
+     */
+    @Value("${app.session.touch-interval:1m}")
+    private Duration touchInterval;
+
+    /**
+     * Write-behind period (sessions written within this window are lost on a crash)
+     */
+    @Value("${app.session.flush-interval:500ms}")
+    private Duration flushInterval;
+
+    @Value("${app.session.cleanup-interval:1m}")
+    private Duration cleanupInterval;
+
+    @Bean(destroyMethod = "close")
+    public MappedFileSessionStore sessionStore() throws IOException {
+        return new MappedFileSessionStore(path, slots, slotSize);
+    }
+
+    @Bean
+    public ExternalizedSessionRepository sessionRepository(MappedFileSessionStore sessionStore) {
+        SessionCodec codec = new SessionCodec(compressionEnabled, compressionThreshold, getClass().getClassLoader());
+        return new ExternalizedSessionRepository(sessionStore, codec,
+                sessionTimeout, touchInterval, flushInterval, cleanupInterval);
+    }
+}
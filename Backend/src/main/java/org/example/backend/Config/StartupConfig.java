@@ -0,0 +1,50 @@
+package org.example.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.User.Cache.UserCache;
+import org.example.backend.User.Cache.UserResponseCache;
+import org.example.backend.User.Id.UserIdGenerator;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.auth.handler.OAuth2FailureHandler;
+import org.example.backend.auth.handler.OAuth2SuccessHandler;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.example.backend.auth.service.OAuth2UserService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Startup Configuration
+ * With spring.main.lazy-initialization (fast-startup profile) everything off the login path
+ * is created on first use, the beans below are still created at startup
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Static: read by the lazy-initialization BeanFactoryPostProcessor before regular beans exist
+     * Has no effect when lazy initialization is disabled
+     */
+    @Bean
+    static LazyInitializationExcludeFilter loginPathEagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                EntityManagerFactory.class,
+                UserRepository.class,
+                // Moves time-ordered ids past MAX(users.id) before the first insert
+                UserIdGenerator.class,
+                UserCache.class,
+                UserResponseCache.class,
+                OAuth2UserService.class,
+                OAuth2SuccessHandler.class,
+                OAuth2FailureHandler.class,
+                LoginAdmissionControl.class,
+                JwtTokenProvider.class,
+                // Provider user-info client (connection pool)
+                RestTemplate.class);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.backend.config;
+
+import org.example.backend.User.Id.UserIdHibernateGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * User ID Generation Configuration
+ * Passes app.user.id.* to the Hibernate @UserId generator (it is created by Hibernate, not Spring)
+ */
+@Configuration
+public class UserIdConfig {
+
+    /**
+     * pooled (default) or time-ordered, see UserIdStrategy
+     */
+    @Value("${app.user.id.strategy:pooled}")
+    private String strategy;
+
+    @Value("${app.user.id.block-size:50}")
+    private int blockSize;
+
+    /**
+     * Node id for time-ordered ids (0-255), must differ between instances
+     */
+    @Value("${app.user.id.node:0}")
+    private int node;
+
+    @Bean
+    public HibernatePropertiesCustomizer userIdHibernateProperties() {
+        return properties -> {
+            properties.put(UserIdHibernateGenerator.STRATEGY_SETTING, strategy);
+            properties.put(UserIdHibernateGenerator.BLOCK_SIZE_SETTING, String.valueOf(blockSize));
+            properties.put(UserIdHibernateGenerator.NODE_SETTING, String.valueOf(node));
+        };
+    }
+}
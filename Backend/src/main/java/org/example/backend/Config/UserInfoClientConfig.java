@@ -0,0 +1,102 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.example.backend.auth.client.UserInfoBulkheadInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Provider User-Info HTTP Client Configuration
+ * Replaces the default RestTemplate of DefaultOAuth2UserService (no pooling, no timeouts)
+ * with a pooled keep-alive client, strict timeouts and a bulkhead
+ */
+@Configuration
+public class UserInfoClientConfig {
+
+    private static final String POOL_NAME = "user-info";
+
+    @Value("${app.user-info-client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${app.user-info-client.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${app.user-info-client.response-timeout:3s}")
+    private Duration responseTimeout;
+
+    /**
+     * Maximum wait for a pooled connection
+     */
+    @Value("${app.user-info-client.connection-request-timeout:500ms}")
+    private Duration connectionRequestTimeout;
+
+    /**
+     * Idle keep-alive connections are closed after this time
+     */
+    @Value("${app.user-info-client.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Value("${app.user-info-client.max-concurrent-calls:100}")
+    private int maxConcurrentCalls;
+
+    @Value("${app.user-info-client.bulkhead-wait:200ms}")
+    private Duration bulkheadWait;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager userInfoConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        // Leased/available/pending connection gauges (keep-alive reuse)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient userInfoHttpClient(PoolingHttpClientConnectionManager userInfoConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(userInfoConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .evictExpiredConnections()
+                .disableCookieManagement()
+                .build();
+    }
+
+    /**
+     * RestTemplate used by OAuth2UserService for the user-info request
+     * Same error handling as the DefaultOAuth2UserService default
+     */
+    @Bean
+    public RestTemplate userInfoRestTemplate(CloseableHttpClient userInfoHttpClient, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(userInfoHttpClient));
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        restTemplate.getInterceptors().add(
+                new UserInfoBulkheadInterceptor(maxConcurrentCalls, bulkheadWait, meterRegistry));
+        return restTemplate;
+    }
+}
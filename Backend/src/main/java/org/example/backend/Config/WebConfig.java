@@ -0,0 +1,22 @@
+package org.example.backend.config;
+
+import org.example.backend.web.JsonWritableHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Web MVC Configuration
+ * Hand-written JSON writers (JsonWritable) take precedence over Jackson for the types they handle,
+ * every other response is still serialized by Jackson
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new JsonWritableHttpMessageConverter());
+    }
+}
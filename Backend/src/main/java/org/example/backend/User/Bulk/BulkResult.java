@@ -0,0 +1,19 @@
+package org.example.backend.User.Bulk;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk export/import
+ */
+public record BulkResult(long rows, Duration elapsed) {
+
+    public long rowsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return rows * 1000 / millis;
+    }
+
+    @Override
+    public String toString() {
+        return rows + " rows in " + elapsed.toMillis() + " ms (" + rowsPerSecond() + " rows/s)";
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.User.Bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Id.UserIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batched User Import
+ * Reads a UserTsv file and inserts it with JDBC batches of app.bulk.batch-size rows,
+ * one transaction per batch
+ *
+ * Ids are inserted explicitly, never generated per row by the database:
+ * - rows with an id keep it (table copies, migrations)
+ * - rows without an id (\N, e.g. generated fixtures) get one from UserIdGenerator
+ * Afterwards the id generator is moved past the largest imported id
+ * (don't mix both kinds in one file: generated ids could collide with explicit ones further down)
+ * Meant for offline use against a table no one else is writing to
+ * Duplicate (id) or (provider, oauth_id) rows fail the batch they are in
+ * MySQL only sends multi-row INSERTs with rewriteBatchedStatements=true on the JDBC URL
+ */
+@Slf4j
+@Component
+public class UserBulkImporter {
+
+    private static final String INSERT = """
+            INSERT INTO users (id, provider, oauth_id, email, name, role, created_at, updated_at, last_login_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdGenerator userIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserBulkImporter(JdbcTemplate jdbcTemplate,
+                            UserIdGenerator userIdGenerator,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.bulk.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userIdGenerator = userIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import users
+     * @param file Source file (.gz for gzip)
+     * @return Imported row count and throughput
+     */
+    public BulkResult importFrom(Path file) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        long maxId = 0;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader in = UserTsv.reader(file)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = UserTsv.split(line);
+                long id = fields[0] != null ? Long.parseLong(fields[0]) : userIdGenerator.nextId();
+                maxId = Math.max(maxId, id);
+                batch.add(toRow(id, fields));
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    rows += batch.size();
+                    batch.clear();
+                    if (rows % PROGRESS_INTERVAL < batchSize) {
+                        log.info("Imported {} users", rows);
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+            rows += batch.size();
+        }
+        userIdGenerator.advancePast(maxId);
+        return new BulkResult(rows, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void insert(List<Object[]> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, batch));
+    }
+
+    private static Object[] toRow(long id, String[] fields) {
+        LocalDateTime createdAt = UserTsv.parseTimestamp(fields[6]);
+        return new Object[]{
+                id,
+                fields[1],
+                fields[2],
+                fields[3],
+                fields[4],
+                fields[5] != null ? fields[5] : Role.USER.name(),
+                Timestamp.valueOf(createdAt != null ? createdAt : LocalDateTime.now()),
+                timestamp(fields[7]),
+                timestamp(fields[8])
+        };
+    }
+
+    private static Timestamp timestamp(String value) {
+        LocalDateTime parsed = UserTsv.parseTimestamp(value);
+        return parsed != null ? Timestamp.valueOf(parsed) : null;
+    }
+}
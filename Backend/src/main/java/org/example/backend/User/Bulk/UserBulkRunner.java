@@ -0,0 +1,46 @@
+package org.example.backend.User.Bulk;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs a bulk export/import at startup when app.bulk.mode is set
+ * Example (no web server, exits when done):
+ * ./gradlew bootRun --args='--spring.main.web-application-type=none --app.bulk.mode=export --app.bulk.file=users.tsv.gz'
+ * ./gradlew bootRun --args='--spring.main.web-application-type=none --app.bulk.mode=import --app.bulk.file=users.tsv.gz'
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.bulk.mode")
+public class UserBulkRunner implements ApplicationRunner {
+
+    private final UserBulkExporter exporter;
+    private final UserBulkImporter importer;
+
+    /**
+     * export or import
+     */
+    @Value("${app.bulk.mode}")
+    private String mode;
+
+    @Value("${app.bulk.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        BulkResult result = switch (mode) {
+            case "export" -> exporter.export(file);
+            case "import" -> importer.importFrom(file);
+            default -> throw new IllegalArgumentException("app.bulk.mode must be export or import: " + mode);
+        };
+        log.info("Bulk {} {}: {}", mode, file, result);
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.backend.User.Bulk;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Line-oriented user dump format
+ * One user per line, tab-separated columns in COLUMNS order, UTF-8
+ * NULL is written as \N; tab, newline, carriage return and backslash are escaped (\t \n \r \\)
+ * Timestamps are ISO-8601 local date-times; files ending in .gz are gzip-compressed
+ */
+final class UserTsv {
+
+    static final String[] COLUMNS = {
+            "id", "provider", "oauth_id", "email", "name", "role", "created_at", "updated_at", "last_login_at"
+    };
+    static final String HEADER = "#" + String.join("\t", COLUMNS);
+
+    private static final String NULL = "\\N";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private UserTsv() {
+    }
+
+    static BufferedWriter writer(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (isGzip(file)) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static BufferedReader reader(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (isGzip(file)) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static void writeField(BufferedWriter out, String value) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\t' -> out.write("\\t");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\\' -> out.write("\\\\");
+                default -> out.write(c);
+            }
+        }
+    }
+
+    static void writeField(BufferedWriter out, LocalDateTime value) throws IOException {
+        writeField(out, value != null ? value.toString() : null);
+    }
+
+    /**
+     * Split a line into exactly COLUMNS.length unescaped fields
+     */
+    static String[] split(String line) {
+        String[] fields = new String[COLUMNS.length];
+        int column = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || line.charAt(i) == '\t') {
+                if (column == COLUMNS.length) {
+                    throw new IllegalArgumentException("Too many columns: " + line);
+                }
+                fields[column++] = unescape(line, start, i);
+                start = i + 1;
+            }
+        }
+        if (column != COLUMNS.length) {
+            throw new IllegalArgumentException("Expected " + COLUMNS.length + " columns: " + line);
+        }
+        return fields;
+    }
+
+    static LocalDateTime parseTimestamp(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    private static String unescape(String line, int start, int end) {
+        if (end - start == 2 && line.startsWith(NULL, start)) {
+            return null;
+        }
+        if (line.indexOf('\\', start) < 0 || line.indexOf('\\', start) >= end) {
+            return line.substring(start, end);
+        }
+        StringBuilder value = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < end) {
+                char escaped = line.charAt(++i);
+                value.append(switch (escaped) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    private static boolean isGzip(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.backend.User.Cache;
+
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Domain.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of a User entity held in UserCache
+ * Detached from the persistence context, safe to share between requests
+ */
+public record CachedUser(
+        Long id,
+        String provider,
+        String oauthId,
+        String email,
+        String name,
+        Role role,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime lastLoginAt
+) {
+
+    public static CachedUser from(User user) {
+        return new CachedUser(
+                user.getId(),
+                user.getProvider(),
+                user.getOauthId(),
+                user.getEmail(),
+                user.getName(),
+                user.getRole(),
+                user.getCreatedAt(),
+                user.getUpdatedAt(),
+                user.getLastLoginAt()
+        );
+    }
+}
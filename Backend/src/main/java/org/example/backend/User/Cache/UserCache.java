@@ -0,0 +1,182 @@
+package org.example.backend.User.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.datasource.ReplicaRouting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through User Cache
+ * Bounded in-process cache of user snapshots keyed by primary key,
+ * plus a (provider, oauthId) -> id index for the login path
+ * Entries of both expire after app.user-cache.ttl and are evicted by size (app.user-cache.maximum-size)
+ * Hit/miss/eviction counters are published as cache.* metrics (cache=users, cache=user-ids)
+ * Users saved within app.datasource.read-your-writes-window are reloaded (by id or by provider and oauthId)
+ * from the primary, so a lagging replica cannot put a stale row back into the cache
+ * The window covers writes of this instance only: a login on another instance that misses a row the replica
+ * has not received yet ends in the upsert, which keeps the existing row
+ */
+@Component
+public class UserCache {
+
+    public static final String CACHE_NAME = "users";
+    public static final String INDEX_CACHE_NAME = "user-ids";
+
+    private final UserRepository userRepository;
+    private final Cache<Long, CachedUser> usersById;
+
+    /**
+     * Set from every write, so a user deleted and registered again is not served under its old id
+     */
+    private final Cache<Key, Long> idsByKey;
+
+    /**
+     * Ids of users written recently (read-your-writes window)
+     */
+    private final Cache<Long, Boolean> recentWrites;
+
+    /**
+     * (provider, oauthId) keys written recently, for index misses within the window (rollback, eviction)
+     */
+    private final Cache<Key, Boolean> recentKeyWrites;
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${app.user-cache.ttl:5m}") Duration ttl,
+                     @Value("${app.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        this(userRepository, meterRegistry, maximumSize, ttl, readYourWritesWindow, Ticker.systemTicker());
+    }
+
+    /**
+     * @param ticker Time source of all expirations
+     */
+    UserCache(UserRepository userRepository, MeterRegistry meterRegistry, long maximumSize, Duration ttl,
+              Duration readYourWritesWindow, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(readYourWritesWindow)
+                .ticker(ticker)
+                .build();
+        this.recentKeyWrites = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(readYourWritesWindow)
+                .ticker(ticker)
+                .build();
+        this.usersById = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .ticker(ticker)
+                        .recordStats()
+                        .<Long, CachedUser>build(),
+                CACHE_NAME);
+        this.idsByKey = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .ticker(ticker)
+                        .recordStats()
+                        .<Key, Long>build(),
+                INDEX_CACHE_NAME);
+    }
+
+    /**
+     * Find user by primary key, loading from the database on a miss
+     * @param id User primary key
+     * @return Cached user snapshot
+     */
+    public Optional<CachedUser> findById(Long id) {
+        return Optional.ofNullable(usersById.get(id, this::load));
+    }
+
+    /**
+     * Find user by provider and oauthId, loading from the database on a miss
+     * Unknown users are not cached (first login must always reach the database)
+     * @param provider Provider name (kakao, etc.)
+     * @param oauthId User ID issued by the provider
+     * @return Cached user snapshot
+     */
+    public Optional<CachedUser> findByProviderAndOauthId(String provider, String oauthId) {
+        Key key = new Key(provider, oauthId);
+        Long id = idsByKey.getIfPresent(key);
+        if (id != null) {
+            Optional<CachedUser> user = findById(id);
+            if (user.isPresent()) {
+                return user;
+            }
+            // Deleted since it was indexed, the key may belong to a newer row
+            idsByKey.asMap().remove(key, id);
+        }
+        Optional<CachedUser> user = recentKeyWrites.getIfPresent(key) != null
+                ? ReplicaRouting.onPrimary(() -> loadByKey(key))
+                : loadByKey(key);
+        user.ifPresent(found -> {
+            idsByKey.put(key, found.id());
+            usersById.put(found.id(), found);
+        });
+        return user;
+    }
+
+    /**
+     * Invalidate a user after it was saved
+     * Evicts the snapshot immediately and again after the surrounding transaction completes,
+     * so a concurrent reader cannot re-cache the pre-commit row. The (provider, oauthId) index
+     * is pointed at the saved row, and dropped again if the transaction rolls back
+     * @param user Saved row
+     */
+    public void invalidate(CachedUser user) {
+        Long id = user.id();
+        Key key = new Key(user.provider(), user.oauthId());
+        recentWrites.put(id, Boolean.TRUE);
+        recentKeyWrites.put(key, Boolean.TRUE);
+        usersById.invalidate(id);
+        idsByKey.put(key, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    usersById.invalidate(id);
+                    if (status != STATUS_COMMITTED) {
+                        idsByKey.invalidate(key);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Current hit/miss/eviction counters of the user snapshot cache
+     */
+    public CacheStats stats() {
+        return usersById.stats();
+    }
+
+    private CachedUser load(Long id) {
+        if (recentWrites.getIfPresent(id) != null) {
+            return ReplicaRouting.onPrimary(() -> userRepository.findById(id).map(CachedUser::from).orElse(null));
+        }
+        return userRepository.findById(id).map(CachedUser::from).orElse(null);
+    }
+
+    private Optional<CachedUser> loadByKey(Key key) {
+        return userRepository.findByProviderAndOauthId(key.provider(), key.oauthId()).map(CachedUser::from);
+    }
+
+    private record Key(String provider, String oauthId) {
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.backend.User.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.backend.User.Json.UserJsonWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Serialized /api/users/me responses
+ * The JSON body (UserJsonWriter) and its ETag are computed once per user snapshot and reused until UserCache
+ * hands out a different snapshot (the user was saved, or the snapshot expired and changed)
+ * Hit/miss counters are published as cache.* metrics (cache=user-responses)
+ */
+@Component
+public class UserResponseCache {
+
+    public static final String CACHE_NAME = "user-responses";
+
+    private final Cache<Long, UserResponse> responsesById;
+
+    public UserResponseCache(MeterRegistry meterRegistry,
+                             @Value("${app.user-cache.maximum-size:10000}") long maximumSize) {
+        this.responsesById = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .recordStats()
+                        .<Long, UserResponse>build(),
+                CACHE_NAME);
+    }
+
+    /**
+     * Serialized response for a user snapshot
+     * @param user Current snapshot from UserCache
+     * @return JSON body and ETag
+     */
+    public UserResponse get(CachedUser user) {
+        UserResponse cached = responsesById.getIfPresent(user.id());
+        if (cached != null && cached.source().equals(user)) {
+            return cached;
+        }
+        UserResponse rendered = render(user);
+        responsesById.put(user.id(), rendered);
+        return rendered;
+    }
+
+    private UserResponse render(CachedUser user) {
+        byte[] body = UserJsonWriter.user(user);
+        return new UserResponse(user, body, etag(user.id(), body));
+    }
+
+    /**
+     * Derived from the body rather than updatedAt: updated_at is not set on insert
+     * and not bumped by role changes or bulk imports, the body always reflects them
+     */
+    private static String etag(Long id, byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + id + "-" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serialized response
+     * @param source Snapshot the body was rendered from
+     * @param body   UTF-8 JSON
+     * @param etag   Strong entity tag (quoted)
+     */
+    public record UserResponse(CachedUser source, byte[] body, String etag) {
+    }
+}
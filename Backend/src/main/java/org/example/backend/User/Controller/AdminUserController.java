@@ -0,0 +1,46 @@
+package org.example.backend.User.Controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.User.Dto.AdminUserSummary;
+import org.example.backend.User.Dto.UserPageResponseDto;
+import org.example.backend.User.Repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin User API Controller
+ * Requires Role.ADMIN (see SecurityConfig)
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.user.admin-page-max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * List users with keyset pagination
+     * Example: GET /api/admin/users?size=100, then ?after={nextAfter} until nextAfter is null
+     * @param after Last id of the previous page (0 for the first page)
+     * @param size Page size (capped at app.user.admin-page-max-size)
+     * @return Users with id greater than after, ordered by id
+     */
+    @GetMapping
+    public UserPageResponseDto<AdminUserSummary> getUsers(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<AdminUserSummary> items = userRepository.findAdminSummariesAfter(after, PageRequest.ofSize(pageSize));
+        Long nextAfter = items.size() < pageSize ? null : items.get(items.size() - 1).id();
+        return new UserPageResponseDto<>(items, nextAfter);
+    }
+}
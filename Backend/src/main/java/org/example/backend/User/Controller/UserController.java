@@ -2,16 +2,31 @@ package org.example.backend.User.Controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.backend.User.Domain.User;
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Cache.UserCache;
+import org.example.backend.User.Cache.UserResponseCache;
+import org.example.backend.User.Dto.UserSummary;
+import org.example.backend.User.Json.UserJsonWriter;
 import org.example.backend.User.Repository.UserRepository;
-import org.example.backend.User.Dto.UserResponseDto;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.example.backend.web.JsonWritable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * User API Controller
@@ -22,68 +37,80 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserController {
 
+    private final UserCache userCache;
+    private final UserResponseCache userResponseCache;
     private final UserRepository userRepository;
 
+    /**
+     * Maximum number of ids per batch request (bounds the IN list)
+     */
+    @Value("${app.user.batch-max-ids:100}")
+    private int batchMaxIds;
+
+    /**
+     * Browser cache lifetime of /me (private, revalidated with If-None-Match afterwards)
+     */
+    @Value("${app.user.me-max-age:10s}")
+    private Duration meMaxAge;
+
     /**
      * Get current logged-in user information
-     * @param oAuth2User Current logged-in OAuth2 user
+     * The body is served pre-serialized (UserResponseCache) with an ETag,
+     * a matching If-None-Match is answered with 304 and no body
+     * @param principal Current logged-in user
      * @return User information
      */
     @GetMapping("/me")
-    public UserResponseDto getCurrentUser(@AuthenticationPrincipal OAuth2User oAuth2User) {
-        if (oAuth2User == null) {
+    public ResponseEntity<byte[]> getCurrentUser(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null) {
             throw new IllegalStateException("User is not logged in");
         }
 
-        // Extract provider and oauthId from OAuth2User
-        String oauthId = String.valueOf(oAuth2User.getAttribute("id"));
-        String provider = extractProvider(oAuth2User);
-
-        // Retrieve user information from database
-        User user = userRepository.findByProviderAndOauthId(provider, oauthId)
+        // Retrieve user information by primary key (cache first, database on a miss)
+        CachedUser user = userCache.findById(principal.getUserId())
                 .orElseThrow(() -> new IllegalStateException("User not found"));
 
-        return UserResponseDto.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .name(user.getName())
-                .role(user.getRole().name())
-                .provider(user.getProvider())
-                .createdAt(user.getCreatedAt())
-                .build();
+        // 304 handling for If-None-Match is done by Spring (HttpEntityMethodProcessor) from the ETag header
+        UserResponseCache.UserResponse response = userResponseCache.get(user);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.etag())
+                .cacheControl(CacheControl.maxAge(meMaxAge).cachePrivate())
+                // Another login in the same browser must not be served this user's copy
+                .varyBy(HttpHeaders.COOKIE, HttpHeaders.AUTHORIZATION)
+                .body(response.body());
     }
 
     /**
-     * Extract provider from OAuth2 user information
-     * OAuth2UserService adds provider information to attributes
-     * @param oAuth2User OAuth2 user
-     * @return Provider name (kakao, naver, google, etc.)
+     * Resolve many users in one query
+     * Example: GET /api/users/batch?ids=1,2,3
+     * @param ids User ids (duplicates are ignored, unknown ids are skipped)
+     * @return Users ordered by id (UserSummary array, written by UserJsonWriter)
      */
-    private String extractProvider(OAuth2User oAuth2User) {
-        Map<String, Object> attributes = oAuth2User.getAttributes();
-        // OAuth2UserService adds provider information to attributes
-        String provider = (String) attributes.get("provider");
-        if (provider != null) {
-            return provider;
-        }
-        // Fallback: For Kakao, can distinguish by specific field
-        if (attributes.containsKey("kakao_account")) {
-            return "kakao";
+    @GetMapping("/batch")
+    public JsonWritable getUsers(@RequestParam("ids") List<Long> ids) {
+        Set<Long> uniqueIds = new HashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > batchMaxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + batchMaxIds + " ids per request");
         }
-        // Should not reach here normally
-        throw new IllegalStateException("Provider information not found");
+        List<UserSummary> users = uniqueIds.isEmpty() ? List.of() : userRepository.findSummariesByIdIn(uniqueIds);
+        return out -> UserJsonWriter.writeSummaries(users, out);
     }
 
     /**
-     * Debug: Get OAuth2 original attributes
-     * @param oAuth2User OAuth2 user
-     * @return OAuth2 original attributes
+     * Debug: Get principal attributes
+     * The provider's original attributes are no longer kept after login,
+     * only id, provider and userId are returned
+     * @param principal Current logged-in user
+     * @return Principal attributes (written by UserJsonWriter)
      */
     @GetMapping("/me/attributes")
-    public Map<String, Object> getOAuth2Attributes(@AuthenticationPrincipal OAuth2User oAuth2User) {
-        if (oAuth2User == null) {
+    public JsonWritable getOAuth2Attributes(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null) {
             throw new IllegalStateException("User is not logged in");
         }
-        return oAuth2User.getAttributes();
+        return out -> UserJsonWriter.writePrincipalAttributes(principal, out);
     }
 }
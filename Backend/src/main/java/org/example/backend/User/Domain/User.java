@@ -2,6 +2,7 @@ package org.example.backend.User.Domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.backend.User.Id.UserId;
 
 import java.time.LocalDateTime;
 
@@ -20,8 +21,11 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
 
+    /**
+     * Assigned before INSERT (app.user.id.strategy), so inserts can be JDBC-batched
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @UserId
     private Long id;
 
     /**
@@ -73,6 +77,13 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Last login timestamp
+     * Written at most once per app.user.last-seen-interval
+     */
+    @Column(name = "last_login_at")
+    private LocalDateTime lastLoginAt;
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
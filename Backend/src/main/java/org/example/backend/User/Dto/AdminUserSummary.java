@@ -0,0 +1,20 @@
+package org.example.backend.User.Dto;
+
+import org.example.backend.User.Domain.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * User projection for the admin listing
+ * Selected directly by JPQL, no entity is loaded
+ */
+public record AdminUserSummary(
+        Long id,
+        String provider,
+        String email,
+        String name,
+        Role role,
+        LocalDateTime createdAt,
+        LocalDateTime lastLoginAt
+) {
+}
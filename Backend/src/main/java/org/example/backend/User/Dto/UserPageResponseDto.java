@@ -0,0 +1,14 @@
+package org.example.backend.User.Dto;
+
+import java.util.List;
+
+/**
+ * Keyset page
+ * @param items Page items ordered by id
+ * @param nextAfter Cursor for the next page (pass as ?after=), null on the last page
+ */
+public record UserPageResponseDto<T>(
+        List<T> items,
+        Long nextAfter
+) {
+}
@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 
 /**
  * 사용자 정보 응답 DTO
+ * /api/users/me 응답은 UserJsonWriter가 직접 작성하므로 필드 순서/형식을 바꿀 때 함께 수정할 것
+ * 응답 형식의 기준: UserJsonWriterTest가 이 DTO의 Jackson 직렬화 결과와 바이트 단위로 비교함
  */
 @Getter
 @Builder
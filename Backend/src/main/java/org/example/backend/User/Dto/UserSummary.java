@@ -0,0 +1,12 @@
+package org.example.backend.User.Dto;
+
+/**
+ * Public user projection for id resolution (/api/users/batch)
+ * Selected directly by JPQL, no entity is loaded; email is deliberately not included
+ */
+public record UserSummary(
+        Long id,
+        String name,
+        String provider
+) {
+}
@@ -0,0 +1,31 @@
+package org.example.backend.User.Event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Audit log of user events
+ * Called by OutboxDispatcher after the login transaction committed (never on the login request),
+ * a failure leaves the outbox row in place so it is retried
+ */
+@Slf4j
+@Component
+public class UserEventLogListener {
+
+    @EventListener
+    public void on(UserRegistered event) {
+        log.atInfo().setMessage("User registered")
+                .addKeyValue("userId", event.userId())
+                .addKeyValue("provider", event.provider())
+                .log();
+    }
+
+    @EventListener
+    public void on(UserLoggedIn event) {
+        log.atDebug().setMessage("User logged in")
+                .addKeyValue("userId", event.userId())
+                .addKeyValue("provider", event.provider())
+                .log();
+    }
+}
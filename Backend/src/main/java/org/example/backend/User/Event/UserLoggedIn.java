@@ -0,0 +1,10 @@
+package org.example.backend.User.Event;
+
+import java.time.Instant;
+
+/**
+ * Published for every successful OAuth2 login (including the first one)
+ * Delivered at least once, listeners must tolerate duplicates
+ */
+public record UserLoggedIn(Long userId, String provider, Instant loggedInAt) {
+}
@@ -0,0 +1,11 @@
+package org.example.backend.User.Event;
+
+import java.time.Instant;
+
+/**
+ * Published when a first login created the user row
+ * Delivered at least once: a concurrent first login of the same user or a resubmission
+ * can deliver it twice, listeners must be idempotent (key on userId)
+ */
+public record UserRegistered(Long userId, String provider, Instant registeredAt) {
+}
@@ -0,0 +1,142 @@
+package org.example.backend.User.Id;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pooled id allocator over the user_id_sequence table
+ * Reserves blocks of blockSize ids with one short transaction (SELECT ... FOR UPDATE + UPDATE)
+ * and hands them out from memory. Blocks of different instances never overlap, gaps are possible.
+ * The first reservation starts after MAX(users.id), so existing IDENTITY rows are kept as they are
+ * The table belongs to the schema (schema.sql for H2, MYSQL_SETUP.md for MySQL), it is never created here
+ */
+public final class PooledIdAllocator {
+
+    static final String TABLE = "user_id_sequence";
+    static final String SEQUENCE_NAME = "users";
+
+    private static final String SELECT_FOR_UPDATE = "SELECT next_val FROM " + TABLE + " WHERE name = ? FOR UPDATE";
+    private static final String UPDATE = "UPDATE " + TABLE + " SET next_val = ? WHERE name = ?";
+    private static final String INSERT = "INSERT INTO " + TABLE + " (name, next_val) VALUES (?, ?)";
+    private static final String SELECT_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM users";
+
+    private final int blockSize;
+
+    /**
+     * ReentrantLock rather than synchronized: a block reservation blocks on JDBC
+     * and must not pin a carrier thread in vthreads mode
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public PooledIdAllocator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("app.user.id.block-size must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next id, reserving a new block through the given source when the current one is used up
+     */
+    public long nextId(BlockSource source) {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                next = source.reserve(blockSize);
+                limit = next + blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop the in-memory block (e.g. after ids were inserted explicitly)
+     */
+    public void discardBlock() {
+        lock.lock();
+        try {
+            next = 0;
+            limit = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve [start, start + size) on the given connection
+     * The caller owns the (separate, short) transaction around it
+     * @return First id of the block
+     */
+    public long reserveBlock(Connection connection, int size) throws SQLException {
+        return advance(connection, size, 0);
+    }
+
+    /**
+     * Make sure future blocks start above the given id
+     */
+    public void advancePast(Connection connection, long id) throws SQLException {
+        advance(connection, 0, id + 1);
+    }
+
+    private long advance(Connection connection, int size, long minimumStart) throws SQLException {
+        while (true) {
+            Long current = selectForUpdate(connection);
+            if (current != null) {
+                long start = Math.max(current, minimumStart);
+                try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                    update.setLong(1, start + size);
+                    update.setString(2, SEQUENCE_NAME);
+                    update.executeUpdate();
+                }
+                return start;
+            }
+            // First use: continue after the existing rows
+            long start = Math.max(maxUserId(connection) + 1, minimumStart);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                insert.setString(1, SEQUENCE_NAME);
+                insert.setLong(2, start + size);
+                insert.executeUpdate();
+                return start;
+            } catch (SQLException e) {
+                if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                    throw e;
+                }
+                // Another instance initialized the row concurrently, lock and read it instead
+                connection.rollback();
+            }
+        }
+    }
+
+    private Long selectForUpdate(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_FOR_UPDATE)) {
+            select.setString(1, SEQUENCE_NAME);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Largest users.id, 0 for an empty table
+     */
+    static long maxUserId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SELECT_MAX_ID)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BlockSource {
+        long reserve(int blockSize);
+    }
+}
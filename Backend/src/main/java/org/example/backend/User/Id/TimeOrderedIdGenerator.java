@@ -0,0 +1,75 @@
+package org.example.backend.User.Id;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered id generator
+ * Layout: [31 bits seconds since 2024-01-01][8 bits node][14 bits sequence] = 53 bits, so every id is
+ * below 2^53 and survives JSON clients that parse numbers as doubles (JavaScript)
+ * Lock-free (single CAS per id), strictly increasing per node.
+ * When 16384 ids are used within one second, or the wall clock moves backwards,
+ * the generator continues on a logical clock (last second + 1) instead of blocking
+ * One instance per node and JVM, so the JPA generator and UserIdGenerator never collide
+ * Across restarts the logical clock is not remembered: UserIdGenerator moves it past MAX(users.id) at startup
+ * The seconds field lasts until 2092
+ */
+public final class TimeOrderedIdGenerator {
+
+    static final long EPOCH_SECONDS = 1_704_067_200L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 8;
+    private static final int SEQUENCE_BITS = 14;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final ConcurrentMap<Integer, TimeOrderedIdGenerator> INSTANCES = new ConcurrentHashMap<>();
+
+    private final long nodeBits;
+
+    /**
+     * (seconds since epoch << SEQUENCE_BITS) | sequence of the last issued id
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    private TimeOrderedIdGenerator(int node) {
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+    }
+
+    public static TimeOrderedIdGenerator forNode(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("app.user.id.node must be between 0 and " + MAX_NODE);
+        }
+        return INSTANCES.computeIfAbsent(node, TimeOrderedIdGenerator::new);
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastSeconds = current >>> SEQUENCE_BITS;
+            long nowSeconds = System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+            long next;
+            if (nowSeconds > lastSeconds) {
+                next = nowSeconds << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = current + 1;
+            } else {
+                next = (lastSeconds + 1) << SEQUENCE_BITS;
+            }
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Make sure every future id is larger than the given id of any node (or any IDENTITY id)
+     * Moves the last issued id to the end of that id's second, so generation continues in the next
+     * second: on the wall clock once it gets there, on the logical clock until then
+     */
+    public void advancePast(long id) {
+        long seconds = id >>> (NODE_BITS + SEQUENCE_BITS);
+        state.accumulateAndGet((seconds << SEQUENCE_BITS) | SEQUENCE_MASK, Math::max);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.backend.User.Id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * User primary key generated by UserIdHibernateGenerator (strategy from app.user.id.strategy)
+ */
+@IdGeneratorType(UserIdHibernateGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UserId {
+}
@@ -0,0 +1,94 @@
+package org.example.backend.User.Id;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * User id generator for SQL written outside Hibernate (native upsert, bulk import)
+ * Same strategy and settings as the @UserId generator used by JPA inserts
+ * Pooled blocks are reserved on a separate connection, outside the caller's transaction
+ * Time-ordered ids continue past MAX(users.id) after a restart: a previous run may have issued ids
+ * ahead of the wall clock (more than 16384 per second, e.g. a bulk import), which would otherwise be issued again
+ * Created at startup even with lazy initialization (StartupConfig), so that happens before the first insert
+ */
+@Component
+public class UserIdGenerator implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+    private final UserIdStrategy strategy;
+    private final PooledIdAllocator pooled;
+    private final TimeOrderedIdGenerator timeOrdered;
+
+    public UserIdGenerator(DataSource dataSource,
+                           @Value("${app.user.id.strategy:pooled}") String strategy,
+                           @Value("${app.user.id.block-size:50}") int blockSize,
+                           @Value("${app.user.id.node:0}") int node) {
+        this.dataSource = dataSource;
+        this.strategy = UserIdStrategy.parse(strategy);
+        this.pooled = this.strategy == UserIdStrategy.POOLED ? new PooledIdAllocator(blockSize) : null;
+        this.timeOrdered = this.strategy == UserIdStrategy.TIME_ORDERED ? TimeOrderedIdGenerator.forNode(node) : null;
+    }
+
+    /**
+     * After all singletons, so the users table exists (Hibernate schema creation in development)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (strategy == UserIdStrategy.TIME_ORDERED) {
+            timeOrdered.advancePast(inOwnTransaction(PooledIdAllocator::maxUserId));
+        }
+    }
+
+    public long nextId() {
+        if (strategy == UserIdStrategy.TIME_ORDERED) {
+            return timeOrdered.nextId();
+        }
+        return pooled.nextId(size -> inOwnTransaction(connection -> pooled.reserveBlock(connection, size)));
+    }
+
+    /**
+     * Called after ids were inserted explicitly (bulk import): future ids of this instance are larger than maxId
+     * Pooled: the sequence row moves past maxId. Time-ordered: generation continues in the second after maxId
+     * (other instances only catch up on their next start, don't import into a table in use)
+     */
+    public void advancePast(long maxId) {
+        if (strategy == UserIdStrategy.TIME_ORDERED) {
+            timeOrdered.advancePast(maxId);
+            return;
+        }
+        inOwnTransaction(connection -> {
+            pooled.advancePast(connection, maxId);
+            return null;
+        });
+        pooled.discardBlock();
+    }
+
+    private <T> T inOwnTransaction(SqlWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.execute(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reserve user ids", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.User.Id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.jdbc.AbstractReturningWork;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Hibernate id generator for @UserId
+ * Assigns the id before the INSERT (no IDENTITY round trip), so hibernate.jdbc.batch_size applies to users
+ * Settings are passed in as Hibernate properties by UserIdConfig
+ * Serializable only through Hibernate's Generator contract, instances are never serialized
+ */
+@SuppressWarnings("serial")
+public class UserIdHibernateGenerator implements BeforeExecutionGenerator {
+
+    public static final String STRATEGY_SETTING = "app.user.id.strategy";
+    public static final String BLOCK_SIZE_SETTING = "app.user.id.block-size";
+    public static final String NODE_SETTING = "app.user.id.node";
+
+    private final UserIdStrategy strategy;
+    private final PooledIdAllocator pooled;
+    private final TimeOrderedIdGenerator timeOrdered;
+
+    public UserIdHibernateGenerator(UserId config, Member member, CustomIdGeneratorCreationContext context) {
+        Map<String, Object> settings = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings();
+        this.strategy = UserIdStrategy.parse(setting(settings, STRATEGY_SETTING, "pooled"));
+        this.pooled = strategy == UserIdStrategy.POOLED
+                ? new PooledIdAllocator(Integer.parseInt(setting(settings, BLOCK_SIZE_SETTING, "50")))
+                : null;
+        this.timeOrdered = strategy == UserIdStrategy.TIME_ORDERED
+                ? TimeOrderedIdGenerator.forNode(Integer.parseInt(setting(settings, NODE_SETTING, "0")))
+                : null;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        if (strategy == UserIdStrategy.TIME_ORDERED) {
+            return timeOrdered.nextId();
+        }
+        // Block reservation runs in its own transaction, like Hibernate's table generators
+        return pooled.nextId(size -> session.getTransactionCoordinator()
+                .createIsolationDelegate()
+                .delegateWork(new AbstractReturningWork<Long>() {
+                    @Override
+                    public Long execute(Connection connection) throws SQLException {
+                        return pooled.reserveBlock(connection, size);
+                    }
+                }, true));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private static String setting(Map<String, Object> settings, String name, String defaultValue) {
+        Object value = settings.get(name);
+        return value != null ? value.toString() : defaultValue;
+    }
+}
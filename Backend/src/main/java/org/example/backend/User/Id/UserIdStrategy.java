@@ -0,0 +1,31 @@
+package org.example.backend.User.Id;
+
+import java.util.Locale;
+
+/**
+ * User id generation strategy (app.user.id.strategy)
+ * Both assign the id before the INSERT, so Hibernate can batch inserts
+ * (IDENTITY has to execute every INSERT on its own to read the generated key)
+ */
+public enum UserIdStrategy {
+
+    /**
+     * Blocks of app.user.id.block-size ids reserved from the user_id_sequence table
+     * Dense, increasing per instance, safe across instances (blocks never overlap)
+     */
+    POOLED,
+
+    /**
+     * 53-bit time-ordered ids: 31 bits seconds, 8 bits node (app.user.id.node), 14 bits sequence
+     * No database round trip at all, ids sort by creation time
+     * Values stay below 2^53, so they are exact as JSON numbers in JavaScript clients
+     */
+    TIME_ORDERED;
+
+    /**
+     * Lenient parse (pooled, time-ordered, TIME_ORDERED)
+     */
+    public static UserIdStrategy parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
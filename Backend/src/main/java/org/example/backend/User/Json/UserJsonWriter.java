@@ -0,0 +1,179 @@
+package org.example.backend.User.Json;
+
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Dto.UserSummary;
+import org.example.backend.auth.principal.UserPrincipal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written JSON writers for user responses
+ * Same output as Jackson with the Spring Boot defaults (field order, nulls included,
+ * ISO-8601 LocalDateTime, only quotes, backslashes, control characters and surrogates escaped),
+ * without reflection: field names and role values are pre-encoded, values go straight to the stream
+ * UserJsonWriterTest and UserJsonBenchmark check the output against Jackson
+ */
+public final class UserJsonWriter {
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] END_OBJECT = ascii("}");
+
+    // UserResponseDto: id, email, name, role, provider, createdAt
+    private static final byte[] USER_ID = ascii("{\"id\":");
+    private static final byte[] USER_EMAIL = ascii(",\"email\":");
+    private static final byte[] USER_NAME = ascii(",\"name\":");
+    private static final byte[] USER_ROLE = ascii(",\"role\":");
+    private static final byte[] USER_PROVIDER = ascii(",\"provider\":");
+    private static final byte[] USER_CREATED_AT = ascii(",\"createdAt\":");
+
+    // UserSummary: id, name, provider
+    private static final byte[] SUMMARY_ID = USER_ID;
+    private static final byte[] SUMMARY_NAME = USER_NAME;
+    private static final byte[] SUMMARY_PROVIDER = USER_PROVIDER;
+
+    // UserPrincipal attributes: id (provider user id), provider, userId
+    private static final byte[] PRINCIPAL_ID = USER_ID;
+    private static final byte[] PRINCIPAL_PROVIDER = USER_PROVIDER;
+    private static final byte[] PRINCIPAL_USER_ID = ascii(",\"userId\":");
+
+    private static final Map<Role, byte[]> ROLES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            ROLES.put(role, ascii("\"" + role.name() + "\""));
+        }
+    }
+
+    private UserJsonWriter() {
+    }
+
+    /**
+     * /api/users/me body (UserResponseDto shape)
+     */
+    public static byte[] user(CachedUser user) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            writeUser(user, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static void writeUser(CachedUser user, OutputStream out) throws IOException {
+        out.write(USER_ID);
+        writeNumber(user.id(), out);
+        out.write(USER_EMAIL);
+        writeString(user.email(), out);
+        out.write(USER_NAME);
+        writeString(user.name(), out);
+        out.write(USER_ROLE);
+        out.write(user.role() != null ? ROLES.get(user.role()) : NULL);
+        out.write(USER_PROVIDER);
+        writeString(user.provider(), out);
+        out.write(USER_CREATED_AT);
+        writeDateTime(user.createdAt(), out);
+        out.write(END_OBJECT);
+    }
+
+    /**
+     * /api/users/batch body: array of UserSummary
+     */
+    public static void writeSummaries(List<UserSummary> summaries, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < summaries.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            UserSummary summary = summaries.get(i);
+            out.write(SUMMARY_ID);
+            writeNumber(summary.id(), out);
+            out.write(SUMMARY_NAME);
+            writeString(summary.name(), out);
+            out.write(SUMMARY_PROVIDER);
+            writeString(summary.provider(), out);
+            out.write(END_OBJECT);
+        }
+        out.write(']');
+    }
+
+    /**
+     * /api/users/me/attributes body (UserPrincipal.getAttributes)
+     */
+    public static void writePrincipalAttributes(UserPrincipal principal, OutputStream out) throws IOException {
+        out.write(PRINCIPAL_ID);
+        writeString(principal.getOauthId(), out);
+        out.write(PRINCIPAL_PROVIDER);
+        writeString(principal.getProvider(), out);
+        out.write(PRINCIPAL_USER_ID);
+        writeNumber(principal.getUserId(), out);
+        out.write(END_OBJECT);
+    }
+
+    private static void writeNumber(Long value, OutputStream out) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        out.write(ascii(Long.toString(value)));
+    }
+
+    private static void writeDateTime(LocalDateTime value, OutputStream out) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        out.write('"');
+        out.write(ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value)));
+        out.write('"');
+    }
+
+    private static void writeString(String value, OutputStream out) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            // Jackson's UTF-8 generator writes characters outside the BMP as two escaped UTF-16 surrogates
+            if (c >= 0x20 && c != '"' && c != '\\' && !Character.isSurrogate(c)) {
+                continue;
+            }
+            out.write(value.substring(start, i).getBytes(StandardCharsets.UTF_8));
+            writeEscape(c, out);
+            start = i + 1;
+        }
+        out.write(value.substring(start).getBytes(StandardCharsets.UTF_8));
+        out.write('"');
+    }
+
+    private static void writeEscape(char c, OutputStream out) throws IOException {
+        String escape = switch (c) {
+            case '"' -> "\\\"";
+            case '\\' -> "\\\\";
+            case '\b' -> "\\b";
+            case '\f' -> "\\f";
+            case '\n' -> "\\n";
+            case '\r' -> "\\r";
+            case '\t' -> "\\t";
+            default -> String.format("\\u%04X", (int) c);
+        };
+        out.write(ascii(escape));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
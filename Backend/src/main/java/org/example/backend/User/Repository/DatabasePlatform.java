@@ -0,0 +1,38 @@
+package org.example.backend.User.Repository;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Supported database platforms for native SQL
+ * Detected from JDBC metadata (H2 for development, MySQL for production)
+ */
+public enum DatabasePlatform {
+    H2,
+    MYSQL;
+
+    /**
+     * Detect platform from the DataSource
+     * @param dataSource Application DataSource
+     * @return Detected platform
+     * @throws IllegalStateException if the database is not supported
+     */
+    public static DatabasePlatform detect(DataSource dataSource) {
+        String productName;
+        try {
+            productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not read database metadata", e);
+        }
+        if ("H2".equalsIgnoreCase(productName)) {
+            return H2;
+        }
+        if ("MySQL".equalsIgnoreCase(productName) || "MariaDB".equalsIgnoreCase(productName)) {
+            return MYSQL;
+        }
+        throw new IllegalStateException("Unsupported database: " + productName);
+    }
+}
@@ -1,14 +1,59 @@
 package org.example.backend.User.Repository;
 
 import org.example.backend.User.Domain.User;
+import org.example.backend.User.Dto.AdminUserSummary;
+import org.example.backend.User.Dto.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * User Repository
  * Repository for finding users by provider and oauthId
+ * Native upsert is provided by UserRepositoryCustom
  */
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    /**
+     * Read-only: no flush, no dirty checking, read-only JDBC connection
+     */
+    @Transactional(readOnly = true)
     Optional<User> findByProviderAndOauthId(String provider, String oauthId);
+
+    /**
+     * Update only the last login timestamp
+     * Bulk update, so @PreUpdate (updatedAt) is not triggered
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.lastLoginAt = :lastLoginAt where u.id = :id")
+    int updateLastLoginAt(@Param("id") Long id, @Param("lastLoginAt") LocalDateTime lastLoginAt);
+
+    /**
+     * Resolve many users in a single IN query
+     * Unknown ids are skipped
+     */
+    @Transactional(readOnly = true)
+    @Query("select new org.example.backend.User.Dto.UserSummary(u.id, u.name, u.provider) "
+            + "from User u where u.id in :ids order by u.id")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page: users with id greater than afterId, in id order
+     * Seeks on the primary key index, so every page costs the same regardless of depth
+     * @param pageable Only the page size is used (always pass page 0, no count query is run)
+     */
+    @Transactional(readOnly = true)
+    @Query("select new org.example.backend.User.Dto.AdminUserSummary("
+            + "u.id, u.provider, u.email, u.name, u.role, u.createdAt, u.lastLoginAt) "
+            + "from User u where u.id > :afterId order by u.id")
+    List<AdminUserSummary> findAdminSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package org.example.backend.User.Repository;
+
+import org.example.backend.User.Cache.CachedUser;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Native upsert operations on users
+ * Implemented in UserRepositoryCustomImpl with platform-specific SQL
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Insert a new USER or update email/name of the existing (provider, oauthId) row
+     * in a single statement, so concurrent first logins never hit the unique constraint
+     * updated_at is only bumped when email or name actually changed
+     * @param provider Provider name (kakao, etc.)
+     * @param oauthId User ID issued by the provider
+     * @param email Email (nullable)
+     * @param name Name (nickname)
+     * @param now Login timestamp (created_at for new rows, last_login_at for all)
+     * @return Row as stored after the statement
+     */
+    @Transactional
+    UpsertResult upsert(String provider, String oauthId, String email, String name, LocalDateTime now);
+
+    /**
+     * Upserted row
+     * @param user Row read back after the statement: an existing row keeps its id, role and created_at
+     * @param inserted true if this statement created the row, false if it matched an existing one
+     *                 (including a row inserted a moment earlier by a concurrent first login)
+     */
+    record UpsertResult(CachedUser user, boolean inserted) {
+    }
+}
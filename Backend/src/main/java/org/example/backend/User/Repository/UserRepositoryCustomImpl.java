@@ -0,0 +1,145 @@
+package org.example.backend.User.Repository;
+
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Id.UserIdGenerator;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Native upsert implementation
+ * Runs on the JPA transaction's connection (JdbcTemplate joins the current transaction)
+ * MySQL: INSERT ... ON DUPLICATE KEY UPDATE, then the row is read back through LAST_INSERT_ID(id)
+ * on the same connection (no generated keys: an updated row reports two of them)
+ * H2: MERGE ... USING wrapped in FINAL TABLE, the row is returned as a result row
+ * The id for a new row comes from UserIdGenerator; it is unused (a gap) when the user already exists
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String COLUMNS = "id, provider, oauth_id, email, name, role, created_at, updated_at, last_login_at";
+
+    /**
+     * updated_at is assigned first so it still compares against the old email/name
+     * (MySQL evaluates ON DUPLICATE KEY UPDATE assignments left to right)
+     * The row alias (VALUES ... AS new) requires MySQL 8.0.19 or later; on older servers use VALUES(col)
+     * instead of new.col (deprecated since 8.0.20)
+     */
+    private static final String MYSQL_UPSERT = """
+            INSERT INTO users (id, provider, oauth_id, email, name, role, created_at, last_login_at)
+            VALUES (LAST_INSERT_ID(?), ?, ?, ?, ?, 'USER', ?, ?) AS new
+            ON DUPLICATE KEY UPDATE
+                updated_at = IF(users.email <=> new.email AND users.name <=> new.name, users.updated_at, new.last_login_at),
+                id = LAST_INSERT_ID(users.id),
+                email = new.email,
+                name = new.name,
+                last_login_at = new.last_login_at
+            """;
+
+    /**
+     * LAST_INSERT_ID() is per connection: the id set by MYSQL_UPSERT, whether it inserted or updated
+     */
+    private static final String MYSQL_SELECT_UPSERTED = "SELECT " + COLUMNS + " FROM users WHERE id = LAST_INSERT_ID()";
+
+    private static final String H2_UPSERT = "SELECT " + COLUMNS + """
+             FROM FINAL TABLE (
+                MERGE INTO users u
+                USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(100)),
+                               CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(50)), CAST(? AS TIMESTAMP)))
+                      s(id, provider, oauth_id, email, name, ts)
+                ON u.provider = s.provider AND u.oauth_id = s.oauth_id
+                WHEN MATCHED THEN UPDATE SET
+                    updated_at = CASE WHEN u.email IS NOT DISTINCT FROM s.email AND u.name IS NOT DISTINCT FROM s.name
+                                      THEN u.updated_at ELSE s.ts END,
+                    email = s.email,
+                    name = s.name,
+                    last_login_at = s.ts
+                WHEN NOT MATCHED THEN INSERT (id, provider, oauth_id, email, name, role, created_at, last_login_at)
+                    VALUES (s.id, s.provider, s.oauth_id, s.email, s.name, 'USER', s.ts, s.ts)
+            )
+            """;
+
+    private static final RowMapper<CachedUser> ROW_MAPPER = (rs, rowNum) -> new CachedUser(
+            rs.getLong("id"),
+            rs.getString("provider"),
+            rs.getString("oauth_id"),
+            rs.getString("email"),
+            rs.getString("name"),
+            Role.valueOf(rs.getString("role")),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getObject("last_login_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdGenerator userIdGenerator;
+    private volatile DatabasePlatform platform;
+
+    public UserRepositoryCustomImpl(JdbcTemplate jdbcTemplate, UserIdGenerator userIdGenerator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userIdGenerator = userIdGenerator;
+    }
+
+    @Override
+    public UpsertResult upsert(String provider, String oauthId, String email, String name, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        long newId = userIdGenerator.nextId();
+        CachedUser user = platform() == DatabasePlatform.H2
+                ? upsertH2(newId, provider, oauthId, email, name, timestamp)
+                : upsertMySql(newId, provider, oauthId, email, name, timestamp);
+        return new UpsertResult(user, user.id() == newId);
+    }
+
+    /**
+     * H2's MERGE does not lock the missing key: when a concurrent first login inserts the row between
+     * the match and the insert, the insert fails on the unique constraint and the retry matches the row
+     */
+    private CachedUser upsertH2(long newId, String provider, String oauthId, String email, String name,
+                                Timestamp timestamp) {
+        try {
+            return jdbcTemplate.queryForObject(H2_UPSERT, ROW_MAPPER, newId, provider, oauthId, email, name, timestamp);
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.queryForObject(H2_UPSERT, ROW_MAPPER, newId, provider, oauthId, email, name, timestamp);
+        }
+    }
+
+    /**
+     * Both statements on one connection, LAST_INSERT_ID() is connection state
+     */
+    private CachedUser upsertMySql(long newId, String provider, String oauthId, String email, String name,
+                                   Timestamp timestamp) {
+        return jdbcTemplate.execute((ConnectionCallback<CachedUser>) connection -> {
+            try (PreparedStatement upsert = connection.prepareStatement(MYSQL_UPSERT)) {
+                upsert.setLong(1, newId);
+                upsert.setString(2, provider);
+                upsert.setString(3, oauthId);
+                upsert.setString(4, email);
+                upsert.setString(5, name);
+                upsert.setTimestamp(6, timestamp);
+                upsert.setTimestamp(7, timestamp);
+                upsert.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement(MYSQL_SELECT_UPSERTED);
+                 ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Upserted row not found for " + provider + "/" + oauthId);
+                }
+                return ROW_MAPPER.mapRow(rs, 0);
+            }
+        });
+    }
+
+    private DatabasePlatform platform() {
+        DatabasePlatform detected = platform;
+        if (detected == null) {
+            detected = DatabasePlatform.detect(jdbcTemplate.getDataSource());
+            platform = detected;
+        }
+        return detected;
+    }
+}
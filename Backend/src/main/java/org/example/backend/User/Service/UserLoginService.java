@@ -0,0 +1,74 @@
+package org.example.backend.User.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Event.UserLoggedIn;
+import org.example.backend.User.Event.UserRegistered;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.User.Repository.UserRepositoryCustom.UpsertResult;
+import org.example.backend.events.EventOutbox;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Login writes together with their user events
+ * Events are appended to the event_outbox table in the same transaction as the user write (EventOutbox),
+ * OutboxDispatcher delivers them to the listeners in batches after commit,
+ * so login latency does not depend on the number of listeners
+ * Each method is one short transaction, called after the provider request has completed
+ */
+@Service
+@RequiredArgsConstructor
+public class UserLoginService {
+
+    private final UserRepository userRepository;
+    private final EventOutbox eventOutbox;
+
+    /**
+     * First login: create the user (upsert, see UserRepositoryCustom)
+     * UserRegistered is only published when this call created the row, not when a concurrent
+     * first login for the same user got there first
+     * @return Stored row
+     */
+    @Transactional
+    public CachedUser register(String provider, String oauthId, String email, String name, LocalDateTime now) {
+        UpsertResult result = userRepository.upsert(provider, oauthId, email, name, now);
+        Long id = result.user().id();
+        if (result.inserted()) {
+            eventOutbox.append(new UserRegistered(id, provider, toInstant(now)));
+        }
+        eventOutbox.append(new UserLoggedIn(id, provider, toInstant(now)));
+        return result.user();
+    }
+
+    /**
+     * Login with a changed provider profile (email, name)
+     * @return Stored row
+     */
+    @Transactional
+    public CachedUser updateProfile(String provider, String oauthId, String email, String name, LocalDateTime now) {
+        CachedUser user = userRepository.upsert(provider, oauthId, email, name, now).user();
+        eventOutbox.append(new UserLoggedIn(user.id(), provider, toInstant(now)));
+        return user;
+    }
+
+    /**
+     * Login of an unchanged user
+     * @param updateLastLogin false when last_login_at is recent enough (only the outbox row is written)
+     */
+    @Transactional
+    public void recordLogin(Long id, String provider, LocalDateTime now, boolean updateLastLogin) {
+        if (updateLastLogin) {
+            userRepository.updateLastLoginAt(id, now);
+        }
+        eventOutbox.append(new UserLoggedIn(id, provider, toInstant(now)));
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
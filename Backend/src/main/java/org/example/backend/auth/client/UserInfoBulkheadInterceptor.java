@@ -0,0 +1,72 @@
+package org.example.backend.auth.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead and latency timer for provider user-info calls
+ * At most maxConcurrentCalls requests are in flight; callers wait up to maxWait for a permit
+ * and are then rejected, so a slow provider cannot absorb every request thread
+ * Latency is recorded in the user.info.client.requests timer (percentile histogram, outcome tag)
+ */
+public class UserInfoBulkheadInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String TIMER_NAME = "user.info.client.requests";
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public UserInfoBulkheadInterceptor(int maxConcurrentCalls, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("user.info.client.bulkhead.rejected");
+        meterRegistry.gauge("user.info.client.bulkhead.available", permits, Semaphore::availablePermits);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!acquire()) {
+            rejected.increment();
+            // RestClientException: DefaultOAuth2UserService reports it as an authentication failure
+            throw new ResourceAccessException("User-info bulkhead full: " + request.getURI().getHost());
+        }
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = response.getStatusCode().is2xxSuccessful() ? "SUCCESS" : "HTTP_" + response.getStatusCode().value();
+            return response;
+        } finally {
+            permits.release();
+            Timer.builder(TIMER_NAME)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.backend.auth.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * Auth API Controller
+ * Token refresh for stateless (JWT) mode
+ */
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.auth.session-mode", havingValue = "jwt")
+public class AuthController {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserRepository userRepository;
+
+    /**
+     * Issue a new access token from the refresh token cookie
+     * The user is read again, so a changed role applies from the next refresh and a deleted user
+     * can no longer refresh (access tokens stay valid until they expire, app.jwt.access-token-ttl)
+     * @param refreshToken Refresh token cookie
+     * @return 204 with a new access token cookie,
+     *         401 with expired token cookies if the refresh token is invalid or the user no longer exists
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh(
+            @CookieValue(name = JwtTokenProvider.REFRESH_TOKEN_COOKIE, required = false) String refreshToken,
+            HttpServletResponse response) {
+        Jwt jwt = refreshToken != null ? jwtTokenProvider.decodeRefreshToken(refreshToken) : null;
+        Optional<User> user = jwt != null
+                ? userRepository.findById(jwtTokenProvider.getUserId(jwt))
+                : Optional.empty();
+        if (user.isEmpty()) {
+            jwtTokenProvider.expireTokenCookies(response);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        String accessToken = jwtTokenProvider.createAccessToken(new UserPrincipal(
+                user.get().getId(), user.get().getProvider(), user.get().getOauthId(), user.get().getRole()));
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, jwtTokenProvider.accessTokenCookie(accessToken).toString())
+                .build();
+    }
+}
@@ -15,70 +15,56 @@ import java.util.Map;
  *   }
  * }
  */
-@SuppressWarnings("unchecked")
-public class KakaoUserInfo extends OAuth2UserInfo {
+public final class KakaoUserInfo extends OAuth2UserInfo {
 
-    public KakaoUserInfo(Map<String, Object> attributes) {
-        super(attributes);
+    private static final String DEFAULT_NAME = "KakaoUser";
+
+    private KakaoUserInfo(String id, String email, String name) {
+        super(id, email, name);
     }
 
-    @Override
-    public String getId() {
+    /**
+     * Parse Kakao attributes in a single pass
+     * @param attributes Kakao user-info response
+     * @return Parsed user info
+     */
+    public static KakaoUserInfo from(Map<String, Object> attributes) {
         // Kakao provides id as Long type at the top level
-        Object id = attributes.get("id");
-        if (id == null) {
-            return null;
-        }
-        return String.valueOf(id);
-    }
+        Object idObj = attributes.get("id");
+        String id = idObj != null ? String.valueOf(idObj) : null;
 
-    @Override
-    public String getEmail() {
         // Kakao has email inside kakao_account
         // May be null if email consent was not given
-        Object kakaoAccountObj = attributes.get("kakao_account");
-        if (kakaoAccountObj == null || !(kakaoAccountObj instanceof Map)) {
-            return null;
-        }
-        Map<String, Object> kakaoAccount = (Map<String, Object>) kakaoAccountObj;
-        Object emailObj = kakaoAccount.get("email");
-        return emailObj != null ? String.valueOf(emailObj) : null;
-    }
+        Map<?, ?> kakaoAccount = asMap(attributes.get("kakao_account"));
+        String email = kakaoAccount != null ? asString(kakaoAccount.get("email")) : null;
 
-    @Override
-    public String getName() {
         // Kakao has nickname at kakao_account.profile.nickname
-        Object kakaoAccountObj = attributes.get("kakao_account");
-        if (kakaoAccountObj == null || !(kakaoAccountObj instanceof Map)) {
-            return getDefaultName();
-        }
-        
-        Map<String, Object> kakaoAccount = (Map<String, Object>) kakaoAccountObj;
-        Object profileObj = kakaoAccount.get("profile");
-        if (profileObj == null || !(profileObj instanceof Map)) {
-            return getDefaultName();
-        }
-        
-        Map<String, Object> profile = (Map<String, Object>) profileObj;
-        Object nicknameObj = profile.get("nickname");
-        String nickname = nicknameObj != null ? String.valueOf(nicknameObj) : null;
-        
+        Map<?, ?> profile = kakaoAccount != null ? asMap(kakaoAccount.get("profile")) : null;
+        String nickname = profile != null ? asString(profile.get("nickname")) : null;
+
         // Use part before @ in email or default value if nickname is not available
-        if (nickname == null || nickname.isEmpty()) {
-            return getDefaultName();
-        }
-        return nickname;
+        String name = nickname != null && !nickname.isEmpty() ? nickname : defaultName(email);
+        return new KakaoUserInfo(id, email, name);
     }
 
     /**
      * Return default name (extract from email or use default value)
      */
-    private String getDefaultName() {
-        String email = getEmail();
-        if (email != null && email.contains("@")) {
-            return email.substring(0, email.indexOf("@"));
+    private static String defaultName(String email) {
+        if (email != null) {
+            int at = email.indexOf('@');
+            if (at >= 0) {
+                return email.substring(0, at);
+            }
         }
-        return "KakaoUser";
+        return DEFAULT_NAME;
     }
-}
 
+    private static Map<?, ?> asMap(Object value) {
+        return value instanceof Map<?, ?> map ? map : null;
+    }
+
+    private static String asString(Object value) {
+        return value != null ? String.valueOf(value) : null;
+    }
+}
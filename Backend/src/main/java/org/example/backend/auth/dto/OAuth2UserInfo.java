@@ -1,36 +1,46 @@
 package org.example.backend.auth.dto;
 
-import java.util.Map;
-
 /**
  * Abstract class for converting provider-specific OAuth2 response structures to common format
  * Each social login provider (Kakao, Naver, Google, etc.) has different API response structures
  * This class provides a unified interface
+ *
+ * Immutable: subclasses parse the provider attributes once and keep only the fields used here,
+ * the raw attribute map is not retained
  */
 public abstract class OAuth2UserInfo {
 
-    protected Map<String, Object> attributes;
+    private final String id;
+    private final String email;
+    private final String name;
 
-    public OAuth2UserInfo(Map<String, Object> attributes) {
-        this.attributes = attributes;
+    protected OAuth2UserInfo(String id, String email, String name) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
     }
 
     /**
      * User unique ID issued by social login provider
      * @return User unique ID (as String)
      */
-    public abstract String getId();
+    public final String getId() {
+        return id;
+    }
 
     /**
      * User email
      * @return Email address (null if consent was not given)
      */
-    public abstract String getEmail();
+    public final String getEmail() {
+        return email;
+    }
 
     /**
      * User name (nickname)
      * @return User name or nickname
      */
-    public abstract String getName();
+    public final String getName() {
+        return name;
+    }
 }
-
@@ -0,0 +1,44 @@
+package org.example.backend.auth.handler;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * OAuth2 Login Failure Handler
+ * Logins rejected by the concurrency cap (LoginAdmissionControl) go back to the login page to start over:
+ * the authorization code is already redeemed, so retrying the callback (e.g. after a 429 Retry-After) cannot succeed
+ * Every other failure keeps the default behavior (redirect to /login?error)
+ */
+@Component
+public class OAuth2FailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    /**
+     * Login page with the rejection message, its provider links start a new authorization
+     */
+    static final String BUSY_URL = "/login?error=busy";
+
+    public OAuth2FailureHandler() {
+        super("/login?error");
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (exception instanceof OAuth2AuthenticationException oauth2Exception
+                && LoginAdmissionControl.TOO_MANY_REQUESTS.equals(oauth2Exception.getError().getErrorCode())) {
+            saveException(request, exception);
+            getRedirectStrategy().sendRedirect(request, response, BUSY_URL);
+            return;
+        }
+        super.onAuthenticationFailure(request, response, exception);
+    }
+}
@@ -3,10 +3,17 @@ package org.example.backend.auth.handler;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.logging.LoginLogSampler;
+import org.example.backend.auth.metrics.LoginMetrics;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.example.backend.config.SessionMode;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 
@@ -16,11 +23,20 @@ import java.io.IOException;
  * OAuth2 Login Success Handler
  * Handles actions after successful OAuth2 login
  * Redirects to frontend after successful authentication
+ * In JWT mode, issues access/refresh tokens as HttpOnly cookies before redirecting
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
 
+    /**
+     * Only available in jwt mode
+     */
+    private final ObjectProvider<JwtTokenProvider> jwtTokenProvider;
+    private final LoginMetrics loginMetrics;
+    private final LoginLogSampler loginLogSampler;
+
     /**
      * Redirect URL after successful login
      * Uses app.oauth2.redirect-uri from application.properties
@@ -29,11 +45,17 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
     @Value("${app.oauth2.redirect-uri:http://localhost:3000}")
     private String redirectUri;
 
+    /**
+     * Authentication state mode (session or jwt)
+     */
+    @Value("${app.auth.session-mode:session}")
+    private SessionMode sessionMode;
+
     /**
      * Method called when OAuth2 login succeeds
      * @param request HTTP request
      * @param response HTTP response
-     * @param authentication Authentication information (includes OAuth2User)
+     * @param authentication Authentication information (includes UserPrincipal)
      * @throws IOException IO exception
      * @throws ServletException Servlet exception
      */
@@ -41,18 +63,30 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
     public void onAuthenticationSuccess(HttpServletRequest request,
                                         HttpServletResponse response,
                                         Authentication authentication) throws IOException, ServletException {
-        OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
-        
-        log.info("OAuth2 login success - User: {}", oAuth2User.getAttributes().get("id"));
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         
-        // TODO: Generate JWT token and set in cookie/header if needed
-        // Example: String jwtToken = jwtTokenProvider.generateToken(oAuth2User);
-        //          response.addHeader("Authorization", "Bearer " + jwtToken);
+        if (loginLogSampler.sample()) {
+            log.atInfo().setMessage("OAuth2 login success").addKeyValue("userId", principal.getUserId()).log();
+        }
+        loginMetrics.loginSucceeded(principal.getProvider());
         
+        if (sessionMode == SessionMode.JWT) {
+            loginMetrics.tokenIssue().record(() -> issueTokens(principal, response));
+        }
+
         // Redirect to frontend
-        // In production, can pass token as query parameter or fragment
-        // Example: response.sendRedirect(redirectUri + "?token=" + jwtToken);
         response.sendRedirect(redirectUri);
     }
-}
 
+    /**
+     * Issue access/refresh tokens from the principal built by OAuth2UserService
+     * Cookies are HttpOnly so tokens never appear in the redirect URL
+     */
+    private void issueTokens(UserPrincipal principal, HttpServletResponse response) {
+        JwtTokenProvider tokens = jwtTokenProvider.getObject();
+        String accessToken = tokens.createAccessToken(principal);
+        String refreshToken = tokens.createRefreshToken(principal);
+        response.addHeader(HttpHeaders.SET_COOKIE, tokens.accessTokenCookie(accessToken).toString());
+        response.addHeader(HttpHeaders.SET_COOKIE, tokens.refreshTokenCookie(refreshToken).toString());
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.backend.auth.jwt;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Stores the pending OAuth2 authorization request in a signed cookie instead of the HttpSession
+ * Used in stateless (JWT) mode so the login redirect round-trip never creates a session
+ * Cookie value: base64url(serialized request) + "." + base64url(HMAC-SHA256)
+ */
+@Slf4j
+public class CookieOAuth2AuthorizationRequestRepository
+        implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String COOKIE_NAME = "oauth2_auth_request";
+
+    private static final Duration COOKIE_TTL = Duration.ofMinutes(3);
+
+    // Only the authorization request graph may be deserialized
+    private static final ObjectInputFilter DESERIALIZATION_FILTER = ObjectInputFilter.Config.createFilter(
+            "org.springframework.security.**;java.util.*;java.lang.*;!*");
+
+    private final SecretKey secretKey;
+    private final boolean cookieSecure;
+
+    public CookieOAuth2AuthorizationRequestRepository(SecretKey secretKey, boolean cookieSecure) {
+        this.secretKey = secretKey;
+        this.cookieSecure = cookieSecure;
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String value = readCookie(request);
+        return value != null ? decode(value) : null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            expireCookie(response);
+            return;
+        }
+        writeCookie(response, encode(authorizationRequest), COOKIE_TTL);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            expireCookie(response);
+        }
+        return authorizationRequest;
+    }
+
+    private String encode(OAuth2AuthorizationRequest authorizationRequest) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(authorizationRequest);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize authorization request", e);
+        }
+        byte[] payload = bytes.toByteArray();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    private OAuth2AuthorizationRequest decode(String value) {
+        int separator = value.indexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(value.substring(0, separator));
+            byte[] signature = decoder.decode(value.substring(separator + 1));
+            // Verify before deserializing anything coming from the client
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                log.debug("Rejected OAuth2 authorization request cookie with invalid signature");
+                return null;
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                in.setObjectInputFilter(DESERIALIZATION_FILTER);
+                return (OAuth2AuthorizationRequest) in.readObject();
+            }
+        } catch (IllegalArgumentException | IOException | ClassNotFoundException | ClassCastException e) {
+            log.debug("Rejected malformed OAuth2 authorization request cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(secretKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void expireCookie(HttpServletResponse response) {
+        writeCookie(response, "", Duration.ZERO);
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        // SameSite=Lax so the cookie is sent on the top-level redirect back from the provider
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
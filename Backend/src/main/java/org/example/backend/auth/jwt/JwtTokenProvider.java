@@ -0,0 +1,214 @@
+package org.example.backend.auth.jwt;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JWT Token Provider
+ * Issues and verifies HMAC-signed access/refresh tokens for stateless mode
+ * Access tokens carry everything needed to rebuild the principal (no DB or session lookup)
+ * Only created with app.auth.session-mode=jwt
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.auth.session-mode", havingValue = "jwt")
+public class JwtTokenProvider {
+
+    public static final String ACCESS_TOKEN_COOKIE = "access_token";
+    public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+    public static final String REFRESH_PATH = "/api/auth/refresh";
+
+    private static final String CLAIM_TYPE = "typ";
+    private static final String CLAIM_PROVIDER = "provider";
+    private static final String CLAIM_OAUTH_ID = "oauth_id";
+    private static final String CLAIM_ROLE = "role";
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_REFRESH = "refresh";
+
+    private final SecretKey secretKey;
+    private final JwtEncoder encoder;
+    private final JwtDecoder decoder;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final boolean cookieSecure;
+    private final Clock clock;
+
+    @Autowired
+    public JwtTokenProvider(@Value("${app.jwt.secret:}") String secret,
+                            @Value("${app.jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                            @Value("${app.jwt.refresh-token-ttl:14d}") Duration refreshTokenTtl,
+                            @Value("${app.jwt.cookie-secure:false}") boolean cookieSecure) {
+        this(secret, accessTokenTtl, refreshTokenTtl, cookieSecure, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock Issue time of new tokens (verification always uses the system clock)
+     */
+    JwtTokenProvider(String secret, Duration accessTokenTtl, Duration refreshTokenTtl, boolean cookieSecure,
+                     Clock clock) {
+        this.secretKey = new SecretKeySpec(resolveSecret(secret), "HmacSHA256");
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+        this.decoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS256).build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.cookieSecure = cookieSecure;
+        this.clock = clock;
+    }
+
+    /**
+     * HMAC key shared with other stateless components (e.g. signed cookies)
+     */
+    public SecretKey getSecretKey() {
+        return secretKey;
+    }
+
+    /**
+     * Issue a short-lived access token
+     * @param principal Authenticated user
+     * @return Signed JWT
+     */
+    public String createAccessToken(UserPrincipal principal) {
+        return createToken(TYPE_ACCESS, accessTokenTtl, principal);
+    }
+
+    /**
+     * Issue a long-lived refresh token
+     * Only accepted by the refresh endpoint, never as an access token
+     */
+    public String createRefreshToken(UserPrincipal principal) {
+        return createToken(TYPE_REFRESH, refreshTokenTtl, principal);
+    }
+
+    /**
+     * Verify an access token and rebuild the authentication from its claims
+     * @param token Signed JWT
+     * @return Authentication, or null if the token is invalid, expired or not an access token
+     */
+    public OAuth2AuthenticationToken getAuthentication(String token) {
+        Jwt jwt = decode(token, TYPE_ACCESS);
+        return jwt != null ? toAuthentication(jwt) : null;
+    }
+
+    /**
+     * Verify a refresh token
+     * Its role claim may be as old as app.jwt.refresh-token-ttl, the caller re-reads the user
+     * @param token Signed JWT
+     * @return Decoded refresh token, or null if invalid
+     */
+    public Jwt decodeRefreshToken(String token) {
+        return decode(token, TYPE_REFRESH);
+    }
+
+    /**
+     * User primary key of a verified token
+     */
+    public long getUserId(Jwt token) {
+        return Long.parseLong(token.getSubject());
+    }
+
+    public ResponseCookie accessTokenCookie(String token) {
+        return cookie(ACCESS_TOKEN_COOKIE, token, "/", accessTokenTtl);
+    }
+
+    public ResponseCookie refreshTokenCookie(String token) {
+        return cookie(REFRESH_TOKEN_COOKIE, token, REFRESH_PATH, refreshTokenTtl);
+    }
+
+    /**
+     * Expire both token cookies (logout, refresh of a user that no longer exists)
+     * Each cookie is expired on the path it was issued for, otherwise the browser keeps it
+     */
+    public void expireTokenCookies(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(ACCESS_TOKEN_COOKIE, "", "/", Duration.ZERO).toString());
+        response.addHeader(HttpHeaders.SET_COOKIE,
+                cookie(REFRESH_TOKEN_COOKIE, "", REFRESH_PATH, Duration.ZERO).toString());
+    }
+
+    private String createToken(String type, Duration ttl, UserPrincipal principal) {
+        Instant now = clock.instant();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(String.valueOf(principal.getUserId()))
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(CLAIM_TYPE, type)
+                .claim(CLAIM_PROVIDER, principal.getProvider())
+                .claim(CLAIM_OAUTH_ID, principal.getOauthId())
+                .claim(CLAIM_ROLE, principal.getRole().name())
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    private Jwt decode(String token, String expectedType) {
+        try {
+            Jwt jwt = decoder.decode(token);
+            return expectedType.equals(jwt.getClaimAsString(CLAIM_TYPE)) ? jwt : null;
+        } catch (JwtException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private OAuth2AuthenticationToken toAuthentication(Jwt jwt) {
+        String provider = jwt.getClaimAsString(CLAIM_PROVIDER);
+        UserPrincipal principal = new UserPrincipal(
+                Long.parseLong(jwt.getSubject()),
+                provider,
+                jwt.getClaimAsString(CLAIM_OAUTH_ID),
+                Role.valueOf(jwt.getClaimAsString(CLAIM_ROLE)));
+        return new OAuth2AuthenticationToken(principal, principal.getAuthorities(), provider);
+    }
+
+    private ResponseCookie cookie(String name, String value, String path, Duration maxAge) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite("Lax")
+                .path(path)
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < 32) {
+                throw new IllegalStateException("app.jwt.secret must be at least 32 bytes for HS256");
+            }
+            return bytes;
+        }
+        // No configured secret: tokens will not survive a restart or work across instances
+        log.warn("app.jwt.secret is not set - using a random key, tokens are invalidated on restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.backend.auth.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampling for per-login info logs
+ * Under a login storm one info line per login is mostly noise and appender load;
+ * app.logging.login-sample-rate keeps a random fraction of them (1.0 = log every login)
+ * Counts are available from the login.* metrics, so nothing is lost by sampling
+ */
+@Component
+public class LoginLogSampler {
+
+    private final double sampleRate;
+
+    public LoginLogSampler(@Value("${app.logging.login-sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return true if this login's info lines should be written
+     */
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
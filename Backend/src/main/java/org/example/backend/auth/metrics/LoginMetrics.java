@@ -0,0 +1,79 @@
+package org.example.backend.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Login Path Metrics
+ * login.phase{phase=...} timers split a login into its phases so a slow login can be
+ * attributed to the provider, our own mapping code or JDBC:
+ * - provider_call: user-info HTTP request (super.loadUser)
+ * - mapping: provider attributes -> OAuth2UserInfo
+ * - db_lookup: user lookup by (provider, oauthId), cache hits included
+ * - db_write: upsert / last-login update
+ * - token_issue: access/refresh token signing (jwt mode)
+ * All timers publish percentile histograms (p50/p95/p99 computable on the Prometheus side)
+ */
+@Component
+public class LoginMetrics {
+
+    public static final String PHASE_TIMER = "login.phase";
+    public static final String SUCCESS_COUNTER = "login.success";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer providerCall;
+    private final Timer mapping;
+    private final Timer dbLookup;
+    private final Timer dbWrite;
+    private final Timer tokenIssue;
+
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.providerCall = phaseTimer("provider_call");
+        this.mapping = phaseTimer("mapping");
+        this.dbLookup = phaseTimer("db_lookup");
+        this.dbWrite = phaseTimer("db_write");
+        this.tokenIssue = phaseTimer("token_issue");
+    }
+
+    public Timer providerCall() {
+        return providerCall;
+    }
+
+    public Timer mapping() {
+        return mapping;
+    }
+
+    public Timer dbLookup() {
+        return dbLookup;
+    }
+
+    public Timer dbWrite() {
+        return dbWrite;
+    }
+
+    public Timer tokenIssue() {
+        return tokenIssue;
+    }
+
+    /**
+     * Count a completed login
+     * @param provider Provider name (kakao, etc.), low cardinality
+     */
+    public void loginSucceeded(String provider) {
+        Counter.builder(SUCCESS_COUNTER)
+                .tag("provider", provider)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Duration of a login phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.backend.auth.principal;
+
+import org.example.backend.User.Domain.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated user principal
+ * Carries only user id, provider, oauthId and role instead of the provider attribute map,
+ * so the object stored with each session (or rebuilt from each JWT) stays small
+ *
+ * Serialized through a compact proxy (SerializedForm): one long and three short strings
+ */
+public final class UserPrincipal implements OAuth2User, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final long userId;
+    private final String provider;
+    private final String oauthId;
+    private final Role role;
+
+    public UserPrincipal(long userId, String provider, String oauthId, Role role) {
+        this.userId = userId;
+        this.provider = provider;
+        this.oauthId = oauthId;
+        this.role = role;
+    }
+
+    /**
+     * User primary key
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Social login provider (kakao, etc.)
+     */
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * User ID issued by the provider
+     */
+    public String getOauthId() {
+        return oauthId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Provider user ID (same value DefaultOAuth2User returned for nameAttributeKey "id")
+     */
+    @Override
+    public String getName() {
+        return oauthId;
+    }
+
+    /**
+     * Minimal attribute view, built on demand (not stored)
+     */
+    @Override
+    public Map<String, Object> getAttributes() {
+        return Map.of("id", oauthId, "provider", provider, "userId", userId);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role.name()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserPrincipal other)) {
+            return false;
+        }
+        return userId == other.userId && provider.equals(other.provider)
+                && oauthId.equals(other.oauthId) && role == other.role;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(userId);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[userId=" + userId + ", provider=" + provider + ", role=" + role + "]";
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException {
+        throw new InvalidObjectException("SerializedForm required");
+    }
+
+    /**
+     * Compact serialized form of UserPrincipal
+     */
+    static final class SerializedForm implements Externalizable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private UserPrincipal principal;
+
+        // Required by Externalizable
+        public SerializedForm() {
+        }
+
+        SerializedForm(UserPrincipal principal) {
+            this.principal = principal;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeLong(principal.userId);
+            out.writeUTF(principal.provider);
+            out.writeUTF(principal.oauthId);
+            out.writeUTF(principal.role.name());
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            long userId = in.readLong();
+            String provider = in.readUTF();
+            String oauthId = in.readUTF();
+            String role = in.readUTF();
+            try {
+                principal = new UserPrincipal(userId, provider, oauthId, Role.valueOf(role));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidObjectException("Unknown role: " + role);
+            }
+        }
+
+        @Serial
+        private Object readResolve() {
+            return principal;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.backend.auth.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admission control for the OAuth2 login endpoints
+ * - token bucket per client IP and per provider (LoginRateLimitFilter, before any OAuth2 filter)
+ * - cap on concurrent OAuth2UserService.loadUser calls (provider call + DB writes)
+ * Nothing waits: a request over a limit is rejected immediately
+ * (HTTP 429 from the filter, back to the login page from loadUser)
+ * Decisions are counted as login.admission{limit=ip|provider|concurrency, outcome=admitted|rejected}
+ */
+@Component
+public class LoginAdmissionControl {
+
+    /**
+     * OAuth2 error code for a login rejected by the concurrency cap
+     */
+    public static final String TOO_MANY_REQUESTS = "too_many_requests";
+
+    private static final String ADMISSION_METRIC = "login.admission";
+
+    enum Limit {
+        IP, PROVIDER, CONCURRENCY
+    }
+
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+
+    /**
+     * Idle client buckets expire, bounding memory under many distinct IPs
+     */
+    private final Cache<String, TokenBucket> ipBuckets;
+    /**
+     * One bucket per client registration, fixed at startup: the provider comes from the request path,
+     * a made-up name must not create (or evict) a bucket
+     */
+    private final Map<String, TokenBucket> providerBuckets;
+    private final Semaphore inFlightLogins;
+
+    private final Map<Limit, Counter> admitted = new EnumMap<>(Limit.class);
+    private final Map<Limit, Counter> rejected = new EnumMap<>(Limit.class);
+
+    @Autowired
+    public LoginAdmissionControl(MeterRegistry meterRegistry,
+                                 ClientRegistrationRepository clientRegistrations,
+                                 @Value("${app.rate-limit.ip.capacity:20}") int ipCapacity,
+                                 @Value("${app.rate-limit.ip.refill-per-second:2}") double ipRefillPerSecond,
+                                 @Value("${app.rate-limit.ip.max-tracked:100000}") long maxTrackedIps,
+                                 @Value("${app.rate-limit.provider.capacity:200}") int providerCapacity,
+                                 @Value("${app.rate-limit.provider.refill-per-second:100}") double providerRefillPerSecond,
+                                 @Value("${app.rate-limit.max-concurrent-logins:50}") int maxConcurrentLogins) {
+        this(meterRegistry, registrationIds(clientRegistrations), ipCapacity, ipRefillPerSecond, maxTrackedIps,
+                providerCapacity, providerRefillPerSecond, maxConcurrentLogins);
+    }
+
+    LoginAdmissionControl(MeterRegistry meterRegistry, Collection<String> providers,
+                          int ipCapacity, double ipRefillPerSecond, long maxTrackedIps,
+                          int providerCapacity, double providerRefillPerSecond, int maxConcurrentLogins) {
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerSecond;
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedIps)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        Map<String, TokenBucket> buckets = new HashMap<>();
+        for (String provider : providers) {
+            buckets.put(provider, new TokenBucket(providerCapacity, providerRefillPerSecond));
+        }
+        this.providerBuckets = Map.copyOf(buckets);
+        this.inFlightLogins = new Semaphore(maxConcurrentLogins);
+        for (Limit limit : Limit.values()) {
+            admitted.put(limit, counter(meterRegistry, limit, "admitted"));
+            rejected.put(limit, counter(meterRegistry, limit, "rejected"));
+        }
+        meterRegistry.gauge("login.in.flight", inFlightLogins,
+                semaphore -> maxConcurrentLogins - semaphore.availablePermits());
+    }
+
+    /**
+     * Rate-limit a request to a login endpoint
+     * @param clientIp Remote address
+     * @param provider Registration id from the path, null if not present
+     *                 (an unknown id is only IP-limited: Spring Security answers it without calling a provider)
+     * @return 0 if admitted, otherwise nanoseconds until the request could be admitted
+     */
+    public long admitRequest(String clientIp, String provider) {
+        long wait = ipBuckets.get(clientIp, ip -> new TokenBucket(ipCapacity, ipRefillPerSecond)).tryAcquire();
+        if (wait > 0) {
+            rejected.get(Limit.IP).increment();
+            return wait;
+        }
+        admitted.get(Limit.IP).increment();
+        TokenBucket providerBucket = provider == null ? null : providerBuckets.get(provider);
+        if (providerBucket == null) {
+            return 0;
+        }
+        wait = providerBucket.tryAcquire();
+        (wait > 0 ? rejected : admitted).get(Limit.PROVIDER).increment();
+        return wait;
+    }
+
+    /**
+     * Enter loadUser, without waiting
+     * @return false if the concurrency cap is reached (caller must not call exitLoadUser)
+     */
+    public boolean tryEnterLoadUser() {
+        boolean entered = inFlightLogins.tryAcquire();
+        (entered ? admitted : rejected).get(Limit.CONCURRENCY).increment();
+        return entered;
+    }
+
+    public void exitLoadUser() {
+        inFlightLogins.release();
+    }
+
+    /**
+     * Registration ids of the repository, none if it cannot be enumerated (no provider limiting then)
+     */
+    private static List<String> registrationIds(ClientRegistrationRepository clientRegistrations) {
+        List<String> ids = new ArrayList<>();
+        if (clientRegistrations instanceof Iterable<?> registrations) {
+            for (Object registration : registrations) {
+                ids.add(((ClientRegistration) registration).getRegistrationId());
+            }
+        }
+        return ids;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Limit limit, String outcome) {
+        return Counter.builder(ADMISSION_METRIC)
+                .tag("limit", limit.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.backend.auth.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit for /oauth2/** (authorization redirect) and /login/oauth2/** (callback)
+ * Runs before the OAuth2 filters, so a rejected request never reaches the provider or the database
+ * Rejections answer 429 with Retry-After
+ * The client IP is the remote address (set server.forward-headers-strategy behind a proxy)
+ * Not a @Component: registered in the security filter chain only (see SecurityConfig)
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTHORIZATION_PREFIX = "/oauth2/authorization/";
+    private static final String CALLBACK_PREFIX = "/login/oauth2/code/";
+
+    private final LoginAdmissionControl admissionControl;
+
+    public LoginRateLimitFilter(LoginAdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/oauth2/") && !path.startsWith("/login/oauth2/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitNanos = admissionControl.admitRequest(request.getRemoteAddr(), provider(path));
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Retry-After is whole seconds: rounded up, so a client retrying on time finds a token
+     */
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /**
+     * Registration id from /oauth2/authorization/{id} or /login/oauth2/code/{id}
+     */
+    private static String provider(String path) {
+        String rest;
+        if (path.startsWith(AUTHORIZATION_PREFIX)) {
+            rest = path.substring(AUTHORIZATION_PREFIX.length());
+        } else if (path.startsWith(CALLBACK_PREFIX)) {
+            rest = path.substring(CALLBACK_PREFIX.length());
+        } else {
+            return null;
+        }
+        int end = rest.indexOf('/');
+        String provider = end < 0 ? rest : rest.substring(0, end);
+        return provider.isEmpty() ? null : provider;
+    }
+}
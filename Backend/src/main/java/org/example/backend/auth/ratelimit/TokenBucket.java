@@ -0,0 +1,55 @@
+package org.example.backend.auth.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket
+ * Implemented as GCRA (virtual scheduling): the whole bucket state is one "theoretical arrival time",
+ * updated with a single CAS, so there is no lock and no separate refill task
+ * Behaves like a bucket of capacity tokens refilled at refillPerSecond
+ */
+public final class TokenBucket {
+
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong();
+
+    public TokenBucket(int capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock Monotonic nanosecond clock (System.nanoTime, or a fake one in tests)
+     */
+    TokenBucket(int capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs capacity >= 1 and a positive refill rate");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.toleranceNanos = intervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take one token
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire() {
+        long now = nanoClock.getAsLong() - origin;
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
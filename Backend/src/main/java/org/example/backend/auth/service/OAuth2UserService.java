@@ -1,24 +1,33 @@
 package org.example.backend.auth.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Cache.UserCache;
 import org.example.backend.auth.dto.KakaoUserInfo;
 import org.example.backend.auth.dto.OAuth2UserInfo;
-import org.example.backend.User.Domain.Role;
-import org.example.backend.User.Domain.User;
-import org.example.backend.User.Repository.UserRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.example.backend.auth.logging.LoginLogSampler;
+import org.example.backend.auth.metrics.LoginMetrics;
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.example.backend.User.Service.UserLoginService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
-import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * OAuth2 User Service
@@ -28,49 +37,120 @@ import java.util.Map;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OAuth2UserService extends DefaultOAuth2UserService {
 
-    private final UserRepository userRepository;
+    /**
+     * Logins that left the users row untouched (the UserLoggedIn outbox row is still inserted)
+     */
+    static final String USER_ROW_WRITES_AVOIDED_METRIC = "users.row.writes.avoided";
+
+    private final UserLoginService userLoginService;
+    private final UserCache userCache;
+    private final RestTemplate userInfoRestTemplate;
+    private final LoginMetrics loginMetrics;
+    private final LoginLogSampler loginLogSampler;
+    private final LoginAdmissionControl admissionControl;
+    private final Counter userRowWritesAvoided;
+
+    /**
+     * Minimum interval between last-login writes for an unchanged user
+     */
+    private final Duration lastSeenInterval;
+    private final Clock clock;
+
+    @Autowired
+    public OAuth2UserService(UserLoginService userLoginService,
+                             UserCache userCache,
+                             MeterRegistry meterRegistry,
+                             RestTemplate userInfoRestTemplate,
+                             LoginMetrics loginMetrics,
+                             LoginLogSampler loginLogSampler,
+                             LoginAdmissionControl admissionControl,
+                             @Value("${app.user.last-seen-interval:15m}") Duration lastSeenInterval) {
+        this(userLoginService, userCache, meterRegistry, userInfoRestTemplate, loginMetrics, loginLogSampler,
+                admissionControl, lastSeenInterval, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock Time source of the login timestamps (system default zone, like the LocalDateTime columns)
+     */
+    OAuth2UserService(UserLoginService userLoginService, UserCache userCache, MeterRegistry meterRegistry,
+                      RestTemplate userInfoRestTemplate, LoginMetrics loginMetrics, LoginLogSampler loginLogSampler,
+                      LoginAdmissionControl admissionControl, Duration lastSeenInterval, Clock clock) {
+        this.userLoginService = userLoginService;
+        this.userCache = userCache;
+        this.userInfoRestTemplate = userInfoRestTemplate;
+        this.loginMetrics = loginMetrics;
+        this.loginLogSampler = loginLogSampler;
+        this.admissionControl = admissionControl;
+        this.lastSeenInterval = lastSeenInterval;
+        this.clock = clock;
+        this.userRowWritesAvoided = Counter.builder(USER_ROW_WRITES_AVOIDED_METRIC)
+                .description("Logins that left the users row untouched (the outbox row is still inserted)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Use the pooled, time-bounded user-info client (UserInfoClientConfig)
+     * instead of the default RestTemplate
+     */
+    @PostConstruct
+    public void initRestOperations() {
+        setRestOperations(userInfoRestTemplate);
+    }
 
     /**
      * Load OAuth2 user information and save/retrieve from database
+     * Not transactional: a surrounding transaction would hold a pooled connection
+     * for the whole blocking provider call. Each write below is one short transaction
+     * (UserLoginService) that also stores the login events
      * @param userRequest OAuth2 user request
      * @return OAuth2User for Spring Security authentication
      * @throws OAuth2AuthenticationException authentication exception
      */
     @Override
-    @Transactional
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
-        // Get user information from social login provider
-        OAuth2User oAuth2User = super.loadUser(userRequest);
+        // Concurrency cap: fail fast (login page via OAuth2FailureHandler) instead of queueing on Kakao or the pool
+        if (!admissionControl.tryEnterLoadUser()) {
+            throw new OAuth2AuthenticationException(new OAuth2Error(LoginAdmissionControl.TOO_MANY_REQUESTS),
+                    "Too many concurrent logins");
+        }
+        try {
+            return doLoadUser(userRequest);
+        } finally {
+            admissionControl.exitLoadUser();
+        }
+    }
+
+    private OAuth2User doLoadUser(OAuth2UserRequest userRequest) {
+        // Get user information from social login provider (blocking HTTP call)
+        OAuth2User oAuth2User = loginMetrics.providerCall().record(() -> super.loadUser(userRequest));
 
         // Identify provider (kakao, naver, google, etc.)
         String registrationId = userRequest.getClientRegistration().getRegistrationId();
         Map<String, Object> attributes = oAuth2User.getAttributes();
 
-        log.info("OAuth2 login attempt - Provider: {}", registrationId);
-        log.debug("OAuth2 Attributes: {}", attributes);
+        // Structured fields, the raw provider map (PII) only at trace level
+        log.atTrace().setMessage("OAuth2 attributes").addKeyValue("attributes", () -> attributes).log();
 
         // Convert provider-specific response structure to common interface
-        OAuth2UserInfo userInfo = getOAuth2UserInfo(registrationId, attributes);
+        OAuth2UserInfo userInfo = loginMetrics.mapping().record(() -> getOAuth2UserInfo(registrationId, attributes));
+        if (userInfo.getId() == null) {
+            throw new OAuth2AuthenticationException("Missing user id in " + registrationId + " user info");
+        }
 
         // Retrieve or register user in database
-        User user = saveOrUpdateUser(userInfo, registrationId);
-
-        // Add provider information to attributes (for UserController)
-        Map<String, Object> modifiedAttributes = new HashMap<>(attributes);
-        modifiedAttributes.put("provider", registrationId);
-        modifiedAttributes.put("userId", user.getId());
-
-        // Return in format usable by Spring Security
-        // nameAttributeKey: key used to get user identifier from OAuth2User
-        // For Kakao, use "id" field
-        return new DefaultOAuth2User(
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
-                modifiedAttributes,
-                "id" // Field name for user ID in Kakao API response
-        );
+        CachedUser user = saveOrUpdateUser(userInfo, registrationId);
+        if (loginLogSampler.sample()) {
+            log.atInfo().setMessage("OAuth2 login")
+                    .addKeyValue("provider", registrationId)
+                    .addKeyValue("userId", user.id())
+                    .log();
+        }
+
+        // Compact principal: only what UserController and the success handler need,
+        // not the raw provider map (keeps the object stored with each session small)
+        return new UserPrincipal(user.id(), registrationId, userInfo.getId(), user.role());
     }
 
     /**
@@ -81,7 +161,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
      */
     private OAuth2UserInfo getOAuth2UserInfo(String registrationId, Map<String, Object> attributes) {
         if ("kakao".equals(registrationId)) {
-            return new KakaoUserInfo(attributes);
+            return KakaoUserInfo.from(attributes);
         } else {
             throw new OAuth2AuthenticationException("Unsupported OAuth2 provider: " + registrationId);
         }
@@ -89,34 +169,69 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
 
     /**
      * Save or update user information in database
+     * Only writes when the provider profile changed; otherwise at most one
+     * last-login update per app.user.last-seen-interval
      * @param userInfo OAuth2 user information
      * @param registrationId Provider identifier
-     * @return Saved User entity
+     * @return Current user snapshot
+     */
+    private CachedUser saveOrUpdateUser(OAuth2UserInfo userInfo, String registrationId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        // Find existing user by provider and oauthId (served from cache on repeat logins)
+        CachedUser existing = loginMetrics.dbLookup().record(() ->
+                userCache.findByProviderAndOauthId(registrationId, userInfo.getId())).orElse(null);
+        if (existing == null) {
+            return registerUser(userInfo, registrationId, now);
+        }
+
+        if (!isProfileChanged(existing, userInfo)) {
+            if (isLastLoginRecent(existing, now)) {
+                // No user row write for this login, only the UserLoggedIn outbox row
+                userRowWritesAvoided.increment();
+                loginMetrics.dbWrite().record(() ->
+                        userLoginService.recordLogin(existing.id(), registrationId, now, false));
+                return existing;
+            }
+            // Bulk update: doesn't fire @PreUpdate, so updatedAt keeps tracking profile changes only
+            loginMetrics.dbWrite().record(() ->
+                    userLoginService.recordLogin(existing.id(), registrationId, now, true));
+            userCache.invalidate(existing);
+            return existing;
+        }
+
+        // Update existing user information (email, name changed on the provider side)
+        CachedUser updated = loginMetrics.dbWrite().record(() -> userLoginService.updateProfile(
+                registrationId, userInfo.getId(), userInfo.getEmail(), userInfo.getName(), now));
+        userCache.invalidate(updated);
+        return updated;
+    }
+
+    /**
+     * Save new user
+     * Single-statement upsert: a concurrent first login for the same user
+     * updates the row created by the other request instead of failing on
+     * the (provider, oauth_id) unique constraint. Role and created_at come from the stored row,
+     * which may be that other request's row (or an existing ADMIN missed by the cache)
      */
-    private User saveOrUpdateUser(OAuth2UserInfo userInfo, String registrationId) {
-        // Find existing user by provider and oauthId
-        return userRepository
-                .findByProviderAndOauthId(registrationId, userInfo.getId())
-                .map(existingUser -> {
-                    // Update existing user information (email, name may have changed)
-                    log.info("Existing user login - ID: {}, Email: {}", existingUser.getId(), existingUser.getEmail());
-                    existingUser.setEmail(userInfo.getEmail());
-                    existingUser.setName(userInfo.getName());
-                    return userRepository.save(existingUser);
-                })
-                .orElseGet(() -> {
-                    // Save new user
-                    User newUser = User.builder()
-                            .provider(registrationId)
-                            .oauthId(userInfo.getId())
-                            .email(userInfo.getEmail())
-                            .name(userInfo.getName())
-                            .role(Role.USER)
-                            .build();
-                    log.info("New user registration - Provider: {}, OAuthId: {}, Email: {}", 
-                            registrationId, userInfo.getId(), userInfo.getEmail());
-                    return userRepository.save(newUser);
-                });
+    private CachedUser registerUser(OAuth2UserInfo userInfo, String registrationId, LocalDateTime now) {
+        CachedUser user = loginMetrics.dbWrite().record(() -> userLoginService.register(
+                registrationId, userInfo.getId(), userInfo.getEmail(), userInfo.getName(), now));
+        // Not sampled: registrations are rare compared to repeat logins
+        log.atInfo().setMessage("New user registration")
+                .addKeyValue("provider", registrationId)
+                .addKeyValue("userId", user.id())
+                .log();
+        userCache.invalidate(user);
+        return user;
     }
-}
 
+    private boolean isProfileChanged(CachedUser user, OAuth2UserInfo userInfo) {
+        return !Objects.equals(user.email(), userInfo.getEmail())
+                || !Objects.equals(user.name(), userInfo.getName());
+    }
+
+    private boolean isLastLoginRecent(CachedUser user, LocalDateTime now) {
+        return user.lastLoginAt() != null && user.lastLoginAt().plus(lastSeenInterval).isAfter(now);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.backend.auth.stub;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Embedded stub of the Kakao OAuth2 provider for offline load tests
+ * Active only with the stub-provider profile (see application-stub-provider.properties)
+ *
+ * Flow: /oauth/authorize redirects straight back with a code,
+ *       /oauth/token exchanges it for an access token,
+ *       /v2/user/me returns Kakao-shaped JSON (same structure as KakaoUserInfo expects)
+ *
+ * The simulated user is picked at random from app.stub-provider.user-pool-size users,
+ * which gives a natural mix of first-time and returning logins.
+ * A load driver can pin the user with the X-Stub-User header on the authorize request.
+ */
+@Slf4j
+@Profile("stub-provider")
+@RestController
+@RequestMapping("/stub/kakao")
+public class StubKakaoProviderController {
+
+    private static final String TOKEN_PREFIX = "stub-";
+    private static final String BEARER_PREFIX = "Bearer " + TOKEN_PREFIX;
+
+    @Value("${app.stub-provider.user-pool-size:10000}")
+    private int userPoolSize;
+
+    /**
+     * Artificial latency of the user-info endpoint (simulates a slow provider)
+     */
+    @Value("${app.stub-provider.user-info-latency:0ms}")
+    private Duration userInfoLatency;
+
+    /**
+     * Authorization endpoint: no consent screen, redirect back with code immediately
+     */
+    @GetMapping("/oauth/authorize")
+    public ResponseEntity<Void> authorize(@RequestParam("redirect_uri") String redirectUri,
+                                          @RequestParam(value = "state", required = false) String state,
+                                          @RequestHeader(value = "X-Stub-User", required = false) Long stubUser) {
+        long userId = stubUser != null ? stubUser : 1 + ThreadLocalRandom.current().nextLong(userPoolSize);
+        URI location = UriComponentsBuilder.fromUriString(redirectUri)
+                .queryParam("code", userId)
+                .queryParamIfPresent("state", Optional.ofNullable(state))
+                .build()
+                .toUri();
+        return ResponseEntity.status(HttpStatus.FOUND).location(location).build();
+    }
+
+    /**
+     * Token endpoint: the code is the simulated user id
+     */
+    @PostMapping("/oauth/token")
+    public Map<String, Object> token(@RequestParam("code") String code) {
+        return Map.of(
+                "access_token", TOKEN_PREFIX + code,
+                "token_type", "bearer",
+                "expires_in", 21599,
+                "scope", "profile_nickname account_email"
+        );
+    }
+
+    /**
+     * User-info endpoint in Kakao format
+     */
+    @GetMapping("/v2/user/me")
+    public ResponseEntity<Map<String, Object>> userInfo(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization)
+            throws InterruptedException {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(authorization.substring(BEARER_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            // Not a token issued by /oauth/token
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!userInfoLatency.isZero()) {
+            Thread.sleep(userInfoLatency.toMillis());
+        }
+        return ResponseEntity.ok(Map.of(
+                "id", userId,
+                "connected_at", Instant.now().toString(),
+                "kakao_account", Map.of(
+                        "email", "user" + userId + "@example.com",
+                        "profile", Map.of("nickname", "StubUser" + userId)
+                )
+        ));
+    }
+}
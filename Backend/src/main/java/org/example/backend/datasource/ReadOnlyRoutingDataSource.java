@@ -0,0 +1,43 @@
+package org.example.backend.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: the replica, unless the thread asked for the primary
+ * (ReplicaRouting.onPrimary, read-your-writes)
+ *
+ * Wired as the read-only DataSource of a LazyConnectionDataSourceProxy (see routing(...)):
+ * the proxy defers the physical connection until the first statement, by which time
+ * @Transactional(readOnly = true) has marked the connection read-only, and only then picks
+ * this DataSource. Everything else (writes, non-transactional calls) goes to the primary
+ */
+public final class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Application DataSource: primary for writes, replica for read-only transactions
+     */
+    public static LazyConnectionDataSourceProxy routing(DataSource primary, DataSource replica) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(primary, replica));
+        return proxy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReplicaRouting.isPrimaryForced() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.backend.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override of replica routing
+ * Code that must see its own recent writes runs its read-only work inside onPrimary(...)
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Run the given work with read-only connections taken from the primary
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.backend.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+
+/**
+ * Transactional outbox for domain events
+ * append stores the event as one event_outbox row in the caller's transaction, so an event exists
+ * exactly when the write it describes committed; OutboxDispatcher delivers it afterwards
+ * Events are serialized as JSON (records of simple values)
+ */
+@Component
+public class EventOutbox {
+
+    private static final String INSERT = """
+            INSERT INTO event_outbox (event_type, payload, created_at, attempts, next_attempt_at)
+            VALUES (?, ?, ?, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public EventOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this(jdbcTemplate, objectMapper, Clock.systemUTC());
+    }
+
+    EventOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Store an event for delivery after commit
+     * @param event Event record, delivered to @EventListener methods for its type
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event cannot be serialized: " + event.getClass().getName(), e);
+        }
+        Timestamp now = Timestamp.from(clock.instant());
+        jdbcTemplate.update(INSERT, event.getClass().getName(), payload, now, now);
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.backend.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.User.Repository.DatabasePlatform;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Batched delivery of event_outbox rows (EventOutbox)
+ * Every app.events.dispatch-interval, up to app.events.batch-size due rows are:
+ * 1. claimed in one short transaction: locked (SKIP LOCKED on MySQL, so instances share the backlog)
+ *    and leased for app.events.lease
+ * 2. published to the @EventListener methods on this thread, outside any transaction
+ * 3. completed in one short transaction: delivered rows deleted with one statement, failed rows
+ *    retried after app.events.retry-delay, doubling up to app.events.max-retry-delay
+ * A row that failed app.events.max-attempts times is dead-lettered: failed_at is set and it is no longer claimed,
+ * so a poison event does not retry forever (kept in the table for inspection and manual replay)
+ * Full batches are followed by the next one in the same run, so a backlog drains without waiting
+ * A row whose instance stopped mid-batch is delivered again once its lease expires:
+ * delivery is at least once, in id order within a batch
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final String SELECT_DUE = """
+            SELECT id, event_type, payload, attempts FROM event_outbox
+            WHERE failed_at IS NULL AND next_attempt_at <= ? ORDER BY id LIMIT ? FOR UPDATE""";
+
+    /**
+     * Only event types of this application are deserialized
+     */
+    private static final String EVENT_PACKAGE = "org.example.backend.";
+
+    private static final RowMapper<OutboxRow> ROW_MAPPER = (rs, rowNum) -> new OutboxRow(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final int maxAttempts;
+    private volatile String selectDue;
+
+    @Autowired
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper,
+                            @Value("${app.events.batch-size:100}") int batchSize,
+                            @Value("${app.events.lease:1m}") Duration lease,
+                            @Value("${app.events.retry-delay:10s}") Duration retryDelay,
+                            @Value("${app.events.max-retry-delay:10m}") Duration maxRetryDelay,
+                            @Value("${app.events.max-attempts:10}") int maxAttempts) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher, objectMapper,
+                Clock.systemUTC(), batchSize, lease, retryDelay, maxRetryDelay, maxAttempts);
+    }
+
+    OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                     TransactionTemplate transactionTemplate,
+                     ApplicationEventPublisher eventPublisher,
+                     ObjectMapper objectMapper,
+                     Clock clock,
+                     int batchSize,
+                     Duration lease,
+                     Duration retryDelay,
+                     Duration maxRetryDelay,
+                     int maxAttempts) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.events.batch-size must be at least 1");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("app.events.max-attempts must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.dispatch-interval:500ms}")
+    public void dispatch() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // Backlog: next batch right away
+            }
+        } catch (RuntimeException e) {
+            log.error("Event dispatch failed, retrying on next run", e);
+        }
+    }
+
+    /**
+     * Claim, deliver and complete one batch
+     * @return Number of rows claimed
+     */
+    int dispatchBatch() {
+        Instant now = clock.instant();
+        List<OutboxRow> batch = transactionTemplate.execute(status -> claim(now));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<OutboxRow> failed = new ArrayList<>();
+        for (OutboxRow row : batch) {
+            try {
+                eventPublisher.publishEvent(decode(row));
+                delivered.add(row.id());
+            } catch (Exception e) {
+                log.error("Delivery of event {} ({}, attempt {}) failed", row.id(), row.type(), row.attempts() + 1, e);
+                if (row.attempts() + 1 >= maxAttempts) {
+                    log.error("Event {} ({}) dead-lettered after {} attempts", row.id(), row.type(), maxAttempts);
+                }
+                failed.add(row);
+            }
+        }
+        Instant completedAt = clock.instant();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM event_outbox WHERE id IN (" + placeholders(delivered.size()) + ")",
+                        delivered.toArray());
+            }
+            if (!failed.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE event_outbox SET attempts = ?, next_attempt_at = ?, failed_at = ? WHERE id = ?",
+                        failed, failed.size(), (ps, row) -> {
+                            int attempts = row.attempts() + 1;
+                            ps.setInt(1, attempts);
+                            ps.setTimestamp(2, Timestamp.from(completedAt.plus(retryDelay(attempts))));
+                            ps.setTimestamp(3, attempts >= maxAttempts ? Timestamp.from(completedAt) : null);
+                            ps.setLong(4, row.id());
+                        });
+            }
+        });
+        return batch.size();
+    }
+
+    private List<OutboxRow> claim(Instant now) {
+        List<OutboxRow> due = jdbcTemplate.query(selectDue(), ROW_MAPPER, Timestamp.from(now), batchSize);
+        if (!due.isEmpty()) {
+            List<Object> args = new ArrayList<>(due.size() + 1);
+            args.add(Timestamp.from(now.plus(lease)));
+            due.forEach(row -> args.add(row.id()));
+            jdbcTemplate.update("UPDATE event_outbox SET next_attempt_at = ? WHERE id IN ("
+                    + placeholders(due.size()) + ")", args.toArray());
+        }
+        return due;
+    }
+
+    private Object decode(OutboxRow row) throws ClassNotFoundException, JsonProcessingException {
+        if (!row.type().startsWith(EVENT_PACKAGE)) {
+            throw new ClassNotFoundException("Not an application event type: " + row.type());
+        }
+        return objectMapper.readValue(row.payload(), Class.forName(row.type(), false, getClass().getClassLoader()));
+    }
+
+    /**
+     * @param attempts Failed attempts so far (at least 1)
+     */
+    Duration retryDelay(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    /**
+     * H2 (development, single instance) has no SKIP LOCKED
+     */
+    private String selectDue() {
+        String sql = selectDue;
+        if (sql == null) {
+            sql = DatabasePlatform.detect(jdbcTemplate.getDataSource()) == DatabasePlatform.MYSQL
+                    ? SELECT_DUE + " SKIP LOCKED"
+                    : SELECT_DUE;
+            selectDue = sql;
+        }
+        return sql;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record OutboxRow(long id, String type, String payload, int attempts) {
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.backend.health;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Load-Balancer Health Endpoints
+ * Excluded from the security filter chain (SecurityConfig.webSecurityCustomizer),
+ * never touch the session and answer from cached state (InstanceReadiness)
+ * /health and /health/ready: 200 when the instance should receive traffic, 503 otherwise
+ * /health/live: 200 unless the application is broken (restart)
+ * Detailed health stays at /actuator/health
+ */
+@RestController
+@RequiredArgsConstructor
+public class HealthController {
+
+    private static final String UP = "{\"status\":\"UP\"}";
+    private static final String DOWN = "{\"status\":\"DOWN\"}";
+
+    private final InstanceReadiness instanceReadiness;
+
+    @GetMapping({"/health", "/health/ready"})
+    public ResponseEntity<String> ready() {
+        InstanceReadiness.Status status = instanceReadiness.readiness();
+        if (status.ready()) {
+            return response(HttpStatus.OK, UP);
+        }
+        return response(HttpStatus.SERVICE_UNAVAILABLE,
+                "{\"status\":\"OUT_OF_SERVICE\",\"reason\":\"" + status.reason() + "\"}");
+    }
+
+    @GetMapping("/health/live")
+    public ResponseEntity<String> live() {
+        return instanceReadiness.isLive()
+                ? response(HttpStatus.OK, UP)
+                : response(HttpStatus.SERVICE_UNAVAILABLE, DOWN);
+    }
+
+    private static ResponseEntity<String> response(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+}
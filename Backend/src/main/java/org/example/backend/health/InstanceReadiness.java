@@ -0,0 +1,175 @@
+package org.example.backend.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Instance Readiness for load-balancer probes
+ * Not ready when Spring Boot's readiness state is REFUSING_TRAFFIC (startup, and graceful shutdown:
+ * Boot publishes it when the context closes) or while the instance sheds load because it is overloaded:
+ * - a Hikari pool has every connection in use and threads waiting for one
+ * - the provider user-info client has every connection leased and requests waiting for one
+ * Overload is evaluated from pool counters at most once per app.health.refresh-interval, never with a query
+ * Hysteresis, so a fleet-wide spike cannot take every instance out of rotation at once:
+ * - shedding starts only after saturation was seen on every evaluation for app.health.overload-after
+ * - it ends after app.health.recovery-delay without saturation
+ * - it lasts at most app.health.max-shed, then overload is ignored for another max-shed
+ */
+@Slf4j
+@Component
+public class InstanceReadiness {
+
+    private static final Status READY = new Status(true, null);
+
+    private final ApplicationAvailability availability;
+    private final Supplier<String> overloadProbe;
+    private final LongSupplier nanoClock;
+    private final long refreshIntervalNanos;
+    private final long overloadAfterNanos;
+    private final long recoveryDelayNanos;
+    private final long maxShedNanos;
+
+    private final AtomicLong nextRefresh;
+    private volatile Status overload = READY;
+
+    // Written only by the probe that won nextRefresh (the CAS orders consecutive refreshes)
+    private boolean saturated;
+    private long saturatedSince;
+    private long saturationSeenAt;
+    private long shedSince;
+    private long ignoreOverloadUntil;
+
+    @Autowired
+    public InstanceReadiness(ApplicationAvailability availability,
+                             List<DataSource> dataSources,
+                             ObjectProvider<PoolingHttpClientConnectionManager> providerClientPool,
+                             @Value("${app.health.refresh-interval:1s}") Duration refreshInterval,
+                             @Value("${app.health.overload-after:3s}") Duration overloadAfter,
+                             @Value("${app.health.recovery-delay:5s}") Duration recoveryDelay,
+                             @Value("${app.health.max-shed:10s}") Duration maxShed) {
+        this(availability, poolProbe(dataSources, providerClientPool), System::nanoTime,
+                refreshInterval, overloadAfter, recoveryDelay, maxShed);
+    }
+
+    /**
+     * @param overloadProbe Overload reason, null when not overloaded
+     * @param nanoClock     Monotonic nanosecond clock (System.nanoTime, or a fake one in tests)
+     */
+    InstanceReadiness(ApplicationAvailability availability,
+                      Supplier<String> overloadProbe,
+                      LongSupplier nanoClock,
+                      Duration refreshInterval,
+                      Duration overloadAfter,
+                      Duration recoveryDelay,
+                      Duration maxShed) {
+        this.availability = availability;
+        this.overloadProbe = overloadProbe;
+        this.nanoClock = nanoClock;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.overloadAfterNanos = overloadAfter.toNanos();
+        this.recoveryDelayNanos = recoveryDelay.toNanos();
+        this.maxShedNanos = maxShed.toNanos();
+        long now = nanoClock.getAsLong();
+        this.nextRefresh = new AtomicLong(now);
+        this.ignoreOverloadUntil = now;
+    }
+
+    public boolean isLive() {
+        return availability.getLivenessState() == LivenessState.CORRECT;
+    }
+
+    public Status readiness() {
+        if (availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return new Status(false, "refusing-traffic");
+        }
+        long now = nanoClock.getAsLong();
+        long next = nextRefresh.get();
+        // One probe per interval re-evaluates, concurrent probes use the cached result
+        if (now - next >= 0 && nextRefresh.compareAndSet(next, now + refreshIntervalNanos)) {
+            refresh(now);
+        }
+        return overload;
+    }
+
+    private void refresh(long now) {
+        String reason = overloadProbe.get();
+        if (reason == null) {
+            saturated = false;
+            if (!overload.ready() && now - saturationSeenAt >= recoveryDelayNanos) {
+                log.info("Instance no longer overloaded, reporting ready");
+                overload = READY;
+            }
+            return;
+        }
+        if (!saturated) {
+            saturated = true;
+            saturatedSince = now;
+        }
+        saturationSeenAt = now;
+        if (!overload.ready()) {
+            if (now - shedSince >= maxShedNanos) {
+                log.warn("Instance still overloaded ({}) after shedding for the maximum time, reporting ready", reason);
+                overload = READY;
+                ignoreOverloadUntil = now + maxShedNanos;
+                saturated = false;
+            }
+            return;
+        }
+        if (now - saturatedSince >= overloadAfterNanos && now - ignoreOverloadUntil >= 0) {
+            log.warn("Instance overloaded ({}), reporting not ready", reason);
+            overload = new Status(false, reason);
+            shedSince = now;
+        }
+    }
+
+    private static Supplier<String> poolProbe(List<DataSource> dataSources,
+                                              ObjectProvider<PoolingHttpClientConnectionManager> providerClientPool) {
+        // Routing/proxy DataSources are skipped, their target pools are beans of their own
+        List<HikariDataSource> pools = dataSources.stream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .toList();
+        return () -> {
+            for (HikariDataSource pool : pools) {
+                HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+                // null until the pool has been started
+                if (stats != null && stats.getThreadsAwaitingConnection() > 0
+                        && stats.getActiveConnections() >= pool.getMaximumPoolSize()) {
+                    return "db-pool-saturated:" + pool.getPoolName();
+                }
+            }
+            PoolingHttpClientConnectionManager connectionManager = providerClientPool.getIfAvailable();
+            if (connectionManager != null) {
+                PoolStats stats = connectionManager.getTotalStats();
+                if (stats.getPending() > 0 && stats.getLeased() >= stats.getMax()) {
+                    return "provider-client-saturated";
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * @param ready  Whether the instance should receive traffic
+     * @param reason Why it should not, null when ready
+     */
+    public record Status(boolean ready, String reason) {
+    }
+}
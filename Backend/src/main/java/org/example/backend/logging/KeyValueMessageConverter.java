@@ -0,0 +1,35 @@
+package org.example.backend.logging;
+
+import ch.qos.logback.classic.pattern.KeyValuePairConverter;
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+/**
+ * %m with the key-value pairs of the SLF4J fluent API appended (log.atInfo().addKeyValue(...))
+ * Registered for %m in logback-spring.xml, so Spring Boot's default console pattern is kept as it is
+ * Events without key-value pairs are formatted exactly like %m
+ */
+public class KeyValueMessageConverter extends MessageConverter {
+
+    private final KeyValuePairConverter keyValuePairs = new KeyValuePairConverter();
+
+    @Override
+    public void start() {
+        keyValuePairs.setContext(getContext());
+        keyValuePairs.start();
+        super.start();
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        String message = super.convert(event);
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs == null || pairs.isEmpty()) {
+            return message;
+        }
+        return message + " " + keyValuePairs.convert(event);
+    }
+}
@@ -0,0 +1,275 @@
+package org.example.backend.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Session Repository over a pluggable SessionStore
+ *
+ * Write-behind: saved sessions are encoded into a pending map and flushed to the store
+ * in batches every app.session.flush-interval (reads check the pending map first).
+ * Only sessions whose attributes changed are written; a request that merely touches
+ * the session rewrites it at most once per app.session.touch-interval, so read-mostly
+ * requests cost a store read and nothing else.
+ *
+ * Like other Spring Session stores, attribute objects mutated in place are not detected,
+ * call setAttribute again after changing them.
+ */
+@Slf4j
+public final class ExternalizedSessionRepository
+        implements SessionRepository<ExternalizedSessionRepository.StoredSession>, DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final SessionStore store;
+    private final SessionCodec codec;
+    private final Duration defaultMaxInactiveInterval;
+    private final Duration touchInterval;
+
+    /**
+     * Session id -> write not yet applied to the store
+     */
+    private final Map<String, SessionStore.SessionWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    public ExternalizedSessionRepository(SessionStore store,
+                                         SessionCodec codec,
+                                         Duration defaultMaxInactiveInterval,
+                                         Duration touchInterval,
+                                         Duration flushInterval,
+                                         Duration cleanupInterval) {
+        this.store = store;
+        this.codec = codec;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.touchInterval = touchInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("session-write-behind")
+                .daemon(true)
+                .factory());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeExpired,
+                cleanupInterval.toMillis(), cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public StoredSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new StoredSession(session, true);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        if (!session.getId().equals(session.originalId)) {
+            // Session fixation protection changed the id
+            pending.put(session.originalId, SessionStore.SessionWrite.delete(session.originalId));
+            session.originalId = session.getId();
+        }
+        if (!session.dirty && !session.touchDue(touchInterval)) {
+            return;
+        }
+        MapSession delegate = session.delegate;
+        pending.put(delegate.getId(),
+                new SessionStore.SessionWrite(delegate.getId(), codec.encode(delegate), expiresAt(delegate)));
+        session.markPersisted();
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        SessionStore.SessionWrite write = pending.get(id);
+        byte[] payload = write != null ? write.payload() : store.load(id);
+        if (payload == null) {
+            return null;
+        }
+        MapSession session;
+        try {
+            session = codec.decode(payload);
+        } catch (RuntimeException e) {
+            // Unreadable session (e.g. class changed between deployments): treat as logged out
+            log.warn("Discarding undecodable session: {}", e.getMessage());
+            deleteById(id);
+            return null;
+        }
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return new StoredSession(session, false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pending.put(id, SessionStore.SessionWrite.delete(id));
+    }
+
+    /**
+     * Apply pending writes to the store as one batch
+     * Entries leave the pending map only after they are written, and only if they were not replaced meanwhile
+     * Flushes are serialized: an older batch must never reach the store after a newer one
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<SessionStore.SessionWrite> batch = new ArrayList<>(pending.values());
+            store.write(batch);
+            for (SessionStore.SessionWrite write : batch) {
+                pending.remove(write.id(), write);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Session write-behind flush failed, retrying on next run", e);
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            int purged = store.purgeExpired(System.currentTimeMillis());
+            if (purged > 0) {
+                log.debug("Purged {} expired sessions", purged);
+            }
+        } catch (RuntimeException e) {
+            log.error("Session cleanup failed", e);
+        }
+    }
+
+    private static long expiresAt(MapSession session) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        if (maxInactive.isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return session.getLastAccessedTime().plus(maxInactive).toEpochMilli();
+    }
+
+    /**
+     * Session wrapper tracking whether it must be written back
+     */
+    public static final class StoredSession implements Session {
+
+        private final MapSession delegate;
+        private String originalId;
+        private boolean dirty;
+        private Instant persistedLastAccessedTime;
+
+        StoredSession(MapSession delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.originalId = delegate.getId();
+            this.dirty = isNew;
+            this.persistedLastAccessedTime = delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            dirty = true;
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+            dirty = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (delegate.getAttribute(attributeName) != null) {
+                delegate.removeAttribute(attributeName);
+                dirty = true;
+            }
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        /**
+         * Called on every request by SessionRepositoryFilter, does not mark the session dirty
+         */
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            if (!interval.equals(delegate.getMaxInactiveInterval())) {
+                delegate.setMaxInactiveInterval(interval);
+                dirty = true;
+            }
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+
+        private boolean touchDue(Duration touchInterval) {
+            return Duration.between(persistedLastAccessedTime, delegate.getLastAccessedTime())
+                    .compareTo(touchInterval) >= 0;
+        }
+
+        private void markPersisted() {
+            dirty = false;
+            persistedLastAccessedTime = delegate.getLastAccessedTime();
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.backend.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Memory-mapped File Session Store
+ * Fixed-size open-addressing hash table (linear probing) in a single mapped file,
+ * so sessions survive restarts and are shared by every process on the host that maps the same file
+ *
+ * File layout: [header:64][slot 0][slot 1]...
+ * Slot layout: [seq:4][state:4][expiresAt:8][idLength:4][payloadLength:4][id:64][payload...]
+ *
+ * Writers are serialized by an in-process lock plus an exclusive FileLock on the header (cross-process).
+ * Readers take no lock: every slot carries a sequence number that is odd while the slot is being written,
+ * and a read is retried when the sequence changed underneath it (seqlock).
+ */
+@Slf4j
+public class MappedFileSessionStore implements SessionStore, Closeable {
+
+    private static final int MAGIC = 0x53455353; // "SESS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SEQ_OFFSET = 0;
+    private static final int STATE_OFFSET = 4;
+    private static final int EXPIRES_OFFSET = 8;
+    private static final int ID_LENGTH_OFFSET = 16;
+    private static final int PAYLOAD_LENGTH_OFFSET = 20;
+    private static final int ID_OFFSET = 24;
+    private static final int MAX_ID_LENGTH = 64;
+    private static final int PAYLOAD_OFFSET = ID_OFFSET + MAX_ID_LENGTH;
+
+    private static final int EMPTY = 0;
+    private static final int USED = 1;
+    private static final int DELETED = 2;
+
+    /**
+     * Busy spins on a slot that is being written before a reader starts yielding
+     */
+    private static final int MAX_READ_SPINS = 1_000;
+
+    /**
+     * A writer that died mid-write leaves an odd sequence until the next open, readers give up on the slot
+     * after this long. Not while a writer of this process holds the write lock: it is alive, only descheduled
+     * (on a loaded single CPU that can take longer than any fixed wait)
+     */
+    private static final long TORN_SLOT_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static final byte[] NO_MATCH = new byte[0];
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int slotSize;
+    private final int maxPayload;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public MappedFileSessionStore(Path path, int slotCount, int slotSize) throws IOException {
+        if (slotSize % 8 != 0 || slotSize <= PAYLOAD_OFFSET) {
+            throw new IllegalArgumentException("Slot size must be a multiple of 8 and larger than " + PAYLOAD_OFFSET);
+        }
+        long fileSize = HEADER_SIZE + (long) slotCount * slotSize;
+        if (slotCount <= 0 || fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Session store must be between 1 slot and 2GB");
+        }
+        this.slotCount = slotCount;
+        this.slotSize = slotSize;
+        this.maxPayload = slotSize - PAYLOAD_OFFSET;
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            initialize(path);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] load(String id) {
+        byte[] key = id.getBytes(StandardCharsets.US_ASCII);
+        if (key.length > MAX_ID_LENGTH) {
+            return null;
+        }
+        int start = indexOf(key);
+        for (int probe = 0; probe < slotCount; probe++) {
+            byte[] payload = readIfMatches(slotOffset(start + probe), key);
+            if (payload != NO_MATCH) {
+                return payload;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void write(List<SessionWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // One lock round trip for the whole batch
+        writeLock.lock();
+        try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+            for (SessionWrite write : batch) {
+                byte[] key = write.id().getBytes(StandardCharsets.US_ASCII);
+                if (write.isDelete()) {
+                    remove(key);
+                } else {
+                    put(key, write.payload(), write.expiresAtMillis());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public int purgeExpired(long nowMillis) {
+        writeLock.lock();
+        try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+            int purged = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                int base = slotOffset(slot);
+                if (buffer.getInt(base + STATE_OFFSET) == USED && buffer.getLong(base + EXPIRES_OFFSET) < nowMillis) {
+                    setState(base, DELETED);
+                    purged++;
+                }
+            }
+            reclaimTombstones();
+            return purged;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    @SuppressWarnings("try")
+    private void initialize(Path path) throws IOException {
+        writeLock.lock();
+        try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+            int magic = buffer.getInt(0);
+            if (magic == 0) {
+                // New file: the mapping is zero-filled, i.e. every slot is EMPTY
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putInt(8, slotCount);
+                buffer.putInt(12, slotSize);
+                buffer.putInt(0, MAGIC);
+                log.info("Created session store {} ({} slots x {} bytes)", path, slotCount, slotSize);
+                return;
+            }
+            if (magic != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                    || buffer.getInt(8) != slotCount || buffer.getInt(12) != slotSize) {
+                throw new IllegalStateException("Session store " + path
+                        + " has a different format or geometry, delete it or fix app.session.file.* settings");
+            }
+            int recovered = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                int base = slotOffset(slot);
+                if (((int) INT.getVolatile(buffer, base + SEQ_OFFSET) & 1) != 0) {
+                    // Torn write of a crashed process
+                    buffer.putInt(base + STATE_OFFSET, DELETED);
+                    INT.setVolatile(buffer, base + SEQ_OFFSET, (int) INT.getVolatile(buffer, base + SEQ_OFFSET) + 1);
+                    recovered++;
+                }
+            }
+            log.info("Opened session store {} (recovered {} torn slots)", path, recovered);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Payload if the slot holds the key, null if the slot is empty (end of the probe chain),
+     *         NO_MATCH otherwise
+     */
+    private byte[] readIfMatches(int base, byte[] key) {
+        long deadline = 0;
+        for (int attempt = 0; ; attempt++) {
+            if (attempt == MAX_READ_SPINS) {
+                deadline = System.nanoTime() + TORN_SLOT_WAIT_NANOS;
+            }
+            if (attempt >= MAX_READ_SPINS) {
+                if (System.nanoTime() - deadline > 0) {
+                    if (!writeLock.isLocked()) {
+                        return NO_MATCH;
+                    }
+                    deadline = System.nanoTime() + TORN_SLOT_WAIT_NANOS;
+                }
+                Thread.yield();
+            }
+            int before = (int) INT.getVolatile(buffer, base + SEQ_OFFSET);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int state = buffer.getInt(base + STATE_OFFSET);
+            byte[] result;
+            if (state == EMPTY) {
+                result = null;
+            } else if (state != USED || !idMatches(base, key)) {
+                result = NO_MATCH;
+            } else if (buffer.getLong(base + EXPIRES_OFFSET) < System.currentTimeMillis()) {
+                result = null;
+            } else {
+                int length = Math.min(Math.max(buffer.getInt(base + PAYLOAD_LENGTH_OFFSET), 0), maxPayload);
+                result = new byte[length];
+                buffer.get(base + PAYLOAD_OFFSET, result);
+            }
+            VarHandle.loadLoadFence();
+            if ((int) INT.getVolatile(buffer, base + SEQ_OFFSET) == before) {
+                return result;
+            }
+        }
+    }
+
+    private void put(byte[] key, byte[] payload, long expiresAtMillis) {
+        if (key.length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Session id longer than " + MAX_ID_LENGTH + " bytes");
+        }
+        if (payload.length > maxPayload) {
+            throw new IllegalStateException("Session of " + payload.length
+                    + " bytes does not fit a slot (max " + maxPayload + "), raise app.session.file.slot-size");
+        }
+        int start = indexOf(key);
+        int target = -1;
+        for (int probe = 0; probe < slotCount; probe++) {
+            int base = slotOffset(start + probe);
+            int state = buffer.getInt(base + STATE_OFFSET);
+            if (state == USED && idMatches(base, key)) {
+                target = base;
+                break;
+            }
+            if (state != USED && target < 0) {
+                target = base;
+            }
+            if (state == EMPTY) {
+                break;
+            }
+        }
+        if (target < 0) {
+            throw new IllegalStateException("Session store is full, raise app.session.file.slots");
+        }
+        beginWrite(target);
+        buffer.putInt(target + STATE_OFFSET, USED);
+        buffer.putLong(target + EXPIRES_OFFSET, expiresAtMillis);
+        buffer.putInt(target + ID_LENGTH_OFFSET, key.length);
+        buffer.put(target + ID_OFFSET, key);
+        buffer.putInt(target + PAYLOAD_LENGTH_OFFSET, payload.length);
+        buffer.put(target + PAYLOAD_OFFSET, payload);
+        endWrite(target);
+    }
+
+    private void remove(byte[] key) {
+        int start = indexOf(key);
+        for (int probe = 0; probe < slotCount; probe++) {
+            int base = slotOffset(start + probe);
+            int state = buffer.getInt(base + STATE_OFFSET);
+            if (state == EMPTY) {
+                return;
+            }
+            if (state == USED && idMatches(base, key)) {
+                setState(base, DELETED);
+                return;
+            }
+        }
+    }
+
+    /**
+     * A tombstone directly followed by an empty slot never continues a probe chain, turn it back into EMPTY
+     * Keeps misses from degrading into full-table scans under session churn
+     */
+    private void reclaimTombstones() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (buffer.getInt(slotOffset(slot) + STATE_OFFSET) != EMPTY) {
+                continue;
+            }
+            for (int previous = slot - 1 + slotCount; ; previous--) {
+                int base = slotOffset(previous);
+                if (buffer.getInt(base + STATE_OFFSET) != DELETED) {
+                    break;
+                }
+                setState(base, EMPTY);
+            }
+        }
+    }
+
+    private void setState(int base, int state) {
+        beginWrite(base);
+        buffer.putInt(base + STATE_OFFSET, state);
+        endWrite(base);
+    }
+
+    private void beginWrite(int base) {
+        INT.setVolatile(buffer, base + SEQ_OFFSET, (int) INT.getVolatile(buffer, base + SEQ_OFFSET) + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private void endWrite(int base) {
+        INT.setVolatile(buffer, base + SEQ_OFFSET, (int) INT.getVolatile(buffer, base + SEQ_OFFSET) + 1);
+    }
+
+    private boolean idMatches(int base, byte[] key) {
+        if (buffer.getInt(base + ID_LENGTH_OFFSET) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(base + ID_OFFSET + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Home slot of a session id (start of its probe chain), visible for tests
+     */
+    int homeSlot(String id) {
+        return indexOf(id.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private int indexOf(byte[] key) {
+        int hash = 1;
+        for (byte b : key) {
+            hash = 31 * hash + b;
+        }
+        return Math.floorMod(hash ^ (hash >>> 16), slotCount);
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_SIZE + (slot % slotCount) * slotSize;
+    }
+}
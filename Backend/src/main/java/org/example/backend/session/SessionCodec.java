@@ -0,0 +1,115 @@
+package org.example.backend.session;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.session.MapSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary session codec
+ *
+ * Layout: [version:1][flags:1][body]
+ * Body:   id, creation/last-access millis, max-inactive seconds, attribute count,
+ *         then (name, value) pairs written through a single ObjectOutputStream,
+ *         so class descriptors shared by several attributes are written once
+ * The body is deflated when compression is enabled and it exceeds the threshold
+ * Decoding only accepts the classes session attributes are made of (the file is shared between processes)
+ */
+public class SessionCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte FLAG_DEFLATED = 1;
+
+    // Security context, saved request, authorization request/client and UserPrincipal graphs only
+    private static final ObjectInputFilter DESERIALIZATION_FILTER = ObjectInputFilter.Config.createFilter(
+            "org.springframework.security.**;org.example.backend.**;java.util.*;java.lang.*;java.time.*;!*");
+
+    private final boolean compress;
+    private final int compressionThreshold;
+    private final ClassLoader classLoader;
+
+    public SessionCodec(boolean compress, int compressionThreshold, ClassLoader classLoader) {
+        this.compress = compress;
+        this.compressionThreshold = compressionThreshold;
+        this.classLoader = classLoader;
+    }
+
+    public byte[] encode(MapSession session) {
+        byte[] body = writeBody(session);
+        boolean deflate = compress && body.length > compressionThreshold;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 2);
+        out.write(VERSION);
+        out.write(deflate ? FLAG_DEFLATED : 0);
+        if (deflate) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater)) {
+                deflated.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            out.writeBytes(body);
+        }
+        return out.toByteArray();
+    }
+
+    public MapSession decode(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported session format");
+        }
+        InputStream body = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+        if ((bytes[1] & FLAG_DEFLATED) != 0) {
+            body = new InflaterInputStream(body);
+        }
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(body, classLoader)) {
+            in.setObjectInputFilter(DESERIALIZATION_FILTER);
+            MapSession session = new MapSession(in.readUTF());
+            session.setCreationTime(Instant.ofEpochMilli(in.readLong()));
+            session.setLastAccessedTime(Instant.ofEpochMilli(in.readLong()));
+            session.setMaxInactiveInterval(Duration.ofSeconds(in.readInt()));
+            int attributeCount = in.readInt();
+            for (int i = 0; i < attributeCount; i++) {
+                session.setAttribute(in.readUTF(), in.readObject());
+            }
+            return session;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot decode session attribute", e);
+        }
+    }
+
+    private static byte[] writeBody(MapSession session) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeUTF(session.getId());
+            out.writeLong(session.getCreationTime().toEpochMilli());
+            out.writeLong(session.getLastAccessedTime().toEpochMilli());
+            out.writeInt((int) session.getMaxInactiveInterval().toSeconds());
+            Set<String> names = session.getAttributeNames();
+            out.writeInt(names.size());
+            for (String name : names) {
+                out.writeUTF(name);
+                out.writeObject(session.getAttribute(name));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
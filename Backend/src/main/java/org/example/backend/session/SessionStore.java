@@ -0,0 +1,48 @@
+package org.example.backend.session;
+
+import java.util.List;
+
+/**
+ * Pluggable backend for ExternalizedSessionRepository
+ * Stores encoded sessions (see SessionCodec) by session id
+ */
+public interface SessionStore {
+
+    /**
+     * Load an encoded session
+     * @param id Session id
+     * @return Encoded session, or null if not stored
+     */
+    byte[] load(String id);
+
+    /**
+     * Apply a batch of writes and deletes
+     * Backends should apply the batch under a single lock / round trip
+     * @param batch Writes in order
+     */
+    void write(List<SessionWrite> batch);
+
+    /**
+     * Remove sessions whose expiry time has passed
+     * @param nowMillis Current time (epoch millis)
+     * @return Number of removed sessions
+     */
+    int purgeExpired(long nowMillis);
+
+    /**
+     * Single store operation
+     * @param id Session id
+     * @param payload Encoded session, null to delete
+     * @param expiresAtMillis Expiry time (epoch millis), used for purging without decoding
+     */
+    record SessionWrite(String id, byte[] payload, long expiresAtMillis) {
+
+        public static SessionWrite delete(String id) {
+            return new SessionWrite(id, null, 0L);
+        }
+
+        public boolean isDelete() {
+            return payload == null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.backend.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Response body that writes its own JSON (no reflection, no intermediate tree or byte array)
+ * Written straight to the servlet output buffer by JsonWritableHttpMessageConverter
+ */
+@FunctionalInterface
+public interface JsonWritable {
+
+    /**
+     * @param out UTF-8 output, not closed by the implementation
+     */
+    void writeJson(OutputStream out) throws IOException;
+}
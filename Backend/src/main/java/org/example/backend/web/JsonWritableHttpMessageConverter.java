@@ -0,0 +1,43 @@
+package org.example.backend.web;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Writes JsonWritable return values as application/json
+ * Registered ahead of the Jackson converter (WebConfig), write-only
+ */
+public class JsonWritableHttpMessageConverter extends AbstractHttpMessageConverter<JsonWritable> {
+
+    public JsonWritableHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonWritable.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonWritable readInternal(Class<? extends JsonWritable> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("JsonWritable is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(JsonWritable body, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        body.writeJson(outputMessage.getBody());
+    }
+}
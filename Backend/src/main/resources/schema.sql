@@ -0,0 +1,20 @@
+-- Tables outside the JPA model, applied to embedded databases (H2) by spring.sql.init
+-- MySQL: created by hand together with users, see MYSQL_SETUP.md
+
+-- Id blocks for app.user.id.strategy=pooled (PooledIdAllocator)
+CREATE TABLE IF NOT EXISTS user_id_sequence (
+    name VARCHAR(32) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- Domain event outbox (EventOutbox, OutboxDispatcher)
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at TIMESTAMP NOT NULL,
+    -- Set when the row was dead-lettered (app.events.max-attempts), no longer delivered
+    failed_at TIMESTAMP
+);
@@ -1,15 +1,31 @@
 package org.example.backend;
 
+import org.example.backend.auth.jwt.JwtTokenProvider;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The Kakao client registration is not in the repository; the stub provider supplies one
 @SpringBootTest
+@ActiveProfiles("stub-provider")
 class BackendApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void jwtTokenProviderIsOnlyCreatedInJwtMode() {
+		assertThat(context.getBeanProvider(JwtTokenProvider.class).getIfAvailable()).isNull();
+	}
+
 }
 
 
@@ -0,0 +1,51 @@
+package org.example.backend.config;
+
+import jakarta.servlet.http.Cookie;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.auth.session-mode=jwt",
+        "app.jwt.secret=0123456789abcdef0123456789abcdef"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("stub-provider")
+class SecurityConfigJwtModeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void logoutExpiresBothTokenCookies() throws Exception {
+        UserPrincipal principal = new UserPrincipal(42L, "kakao", "987654321", Role.USER);
+
+        MockHttpServletResponse response = mockMvc.perform(post("/logout")
+                        .cookie(new Cookie(JwtTokenProvider.ACCESS_TOKEN_COOKIE,
+                                        jwtTokenProvider.createAccessToken(principal)),
+                                new Cookie(JwtTokenProvider.REFRESH_TOKEN_COOKIE,
+                                        jwtTokenProvider.createRefreshToken(principal))))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).satisfiesExactlyInAnyOrder(
+                cookie -> assertThat(cookie).startsWith("access_token=;").contains("Path=/;", "Max-Age=0"),
+                cookie -> assertThat(cookie).startsWith("refresh_token=;")
+                        .contains("Path=" + JwtTokenProvider.REFRESH_PATH + ";", "Max-Age=0"));
+    }
+}
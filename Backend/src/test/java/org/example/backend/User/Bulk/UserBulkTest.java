@@ -0,0 +1,146 @@
+package org.example.backend.User.Bulk;
+
+import org.example.backend.User.Id.UserIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserBulkTest {
+
+    private static final String SELECT_ALL = "SELECT * FROM users ORDER BY id";
+
+    @TempDir
+    private Path directory;
+
+    private final DataSource source = dataSource("bulk-source");
+    private final DataSource target = dataSource("bulk-target");
+
+    @BeforeEach
+    void setUp() {
+        createTables(source);
+        createTables(target);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, provider, oauth_id, email, name, role, created_at, updated_at, last_login_at)
+                VALUES (3, 'kakao', '1001', 'a@example.com', 'tab\tand\nnewline', 'ADMIN',
+                        TIMESTAMP '2024-01-02 03:04:05.123', NULL, TIMESTAMP '2024-02-01 00:00:00')
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, provider, oauth_id, email, name, role, created_at, updated_at, last_login_at)
+                VALUES (7, 'kakao', '1002', NULL, 'back\\slash \\N', 'USER', TIMESTAMP '2024-01-03 00:00:00',
+                        TIMESTAMP '2024-01-04 00:00:00', NULL)
+                """);
+        for (int id = 10; id < 2_510; id++) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (id, provider, oauth_id, email, name, role, created_at)
+                    VALUES (?, 'kakao', ?, ?, ?, 'USER', TIMESTAMP '2024-01-05 00:00:00')
+                    """, id, "oauth-" + id, "user" + id + "@example.com", "User " + id);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"users.tsv", "users.tsv.gz"})
+    void exportAndImportRoundTripKeepsRowsAndIds(String fileName) throws IOException {
+        Path file = directory.resolve(fileName);
+
+        BulkResult exported = exporter(source).export(file);
+        BulkResult imported = importer(target, generator(target)).importFrom(file);
+
+        assertThat(exported.rows()).isEqualTo(2_502);
+        assertThat(imported.rows()).isEqualTo(2_502);
+        List<Map<String, Object>> copied = new JdbcTemplate(target).queryForList(SELECT_ALL);
+        assertThat(copied).isEqualTo(new JdbcTemplate(source).queryForList(SELECT_ALL));
+        assertThat(copied.get(0)).containsEntry("ID", 3L).containsEntry("NAME", "tab\tand\nnewline");
+        assertThat(copied.get(1)).containsEntry("NAME", "back\\slash \\N").containsEntry("EMAIL", null);
+    }
+
+    @Test
+    void importedIdsMoveTheSequencePastTheMaximum() throws IOException {
+        Path file = directory.resolve("users.tsv");
+        exporter(source).export(file);
+        UserIdGenerator generator = generator(target);
+
+        importer(target, generator).importFrom(file);
+
+        assertThat(generator.nextId()).isGreaterThan(2_509);
+    }
+
+    @Test
+    void rowsWithoutAnIdGetFreshIds() throws IOException {
+        new JdbcTemplate(target).update("""
+                INSERT INTO users (id, provider, oauth_id, role, created_at)
+                VALUES (500, 'kakao', 'existing', 'USER', CURRENT_TIMESTAMP)
+                """);
+        Path file = directory.resolve("fixtures.tsv");
+        Files.writeString(file, UserTsv.HEADER + "\n"
+                + "\\N\tkakao\tf1\t\\N\tFixture 1\t\\N\t\\N\t\\N\t\\N\n"
+                + "\\N\tkakao\tf2\t\\N\tFixture 2\tADMIN\t2024-01-01T00:00\t\\N\t\\N\n");
+        UserIdGenerator generator = generator(target);
+
+        BulkResult result = importer(target, generator).importFrom(file);
+
+        assertThat(result.rows()).isEqualTo(2);
+        List<Map<String, Object>> fixtures = new JdbcTemplate(target).queryForList(
+                "SELECT id, role FROM users WHERE oauth_id LIKE 'f%' ORDER BY oauth_id");
+        assertThat(fixtures).extracting(row -> (Long) row.get("ID"))
+                .allSatisfy(id -> assertThat(id).isGreaterThan(500));
+        assertThat(fixtures).extracting(row -> row.get("ROLE")).containsExactly("USER", "ADMIN");
+        long maxId = new JdbcTemplate(target).queryForObject("SELECT MAX(id) FROM users", Long.class);
+        assertThat(generator.nextId()).isGreaterThan(maxId);
+    }
+
+    private static UserBulkExporter exporter(DataSource dataSource) {
+        return new UserBulkExporter(dataSource);
+    }
+
+    private static UserBulkImporter importer(DataSource dataSource, UserIdGenerator generator) {
+        // Small batches, so the round trip spans several transactions
+        return new UserBulkImporter(new JdbcTemplate(dataSource), generator,
+                new DataSourceTransactionManager(dataSource), 1_000);
+    }
+
+    private static UserIdGenerator generator(DataSource dataSource) {
+        UserIdGenerator generator = new UserIdGenerator(dataSource, "pooled", 50, 0);
+        generator.afterSingletonsInstantiated();
+        return generator;
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void createTables(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS user_id_sequence");
+        jdbcTemplate.execute("""
+                CREATE TABLE users (
+                    id BIGINT PRIMARY KEY,
+                    provider VARCHAR(20) NOT NULL,
+                    oauth_id VARCHAR(100) NOT NULL,
+                    email VARCHAR(100),
+                    name VARCHAR(50),
+                    role VARCHAR(20) NOT NULL,
+                    created_at TIMESTAMP(6) NOT NULL,
+                    updated_at TIMESTAMP(6),
+                    last_login_at TIMESTAMP(6),
+                    UNIQUE (provider, oauth_id)
+                )
+                """);
+        jdbcTemplate.execute("CREATE TABLE user_id_sequence (name VARCHAR(32) PRIMARY KEY, next_val BIGINT NOT NULL)");
+    }
+}
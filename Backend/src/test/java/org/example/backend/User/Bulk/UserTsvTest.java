@@ -0,0 +1,60 @@
+package org.example.backend.User.Bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserTsvTest {
+
+    @Test
+    void escapedFieldsSplitBackToTheOriginalValues() throws IOException {
+        String[] values = {
+                "tab\there", "new\nline", "carriage\rreturn", "back\\slash", null,
+                "\\N", "\\\\N", "", "plain"
+        };
+
+        String line = write(values);
+
+        assertThat(line).doesNotContain("\n", "\r");
+        assertThat(line.split("\t", -1)).hasSize(UserTsv.COLUMNS.length);
+        assertThat(UserTsv.split(line)).containsExactly(values);
+    }
+
+    @Test
+    void onlyTheBareMarkerIsNull() throws IOException {
+        String[] fields = UserTsv.split(write(new String[]{null, "\\N", "N", "\\", "x", "x", "x", "x", "x"}));
+
+        assertThat(fields[0]).isNull();
+        assertThat(fields[1]).isEqualTo("\\N");
+        assertThat(fields[2]).isEqualTo("N");
+        assertThat(fields[3]).isEqualTo("\\");
+    }
+
+    @Test
+    void rejectsLinesWithTheWrongColumnCount() {
+        assertThatThrownBy(() -> UserTsv.split("1\tkakao\t42"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Expected 9 columns");
+        assertThatThrownBy(() -> UserTsv.split("1\t2\t3\t4\t5\t6\t7\t8\t9\t10"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Too many columns");
+    }
+
+    private static String write(String[] values) throws IOException {
+        StringWriter line = new StringWriter();
+        try (BufferedWriter out = new BufferedWriter(line)) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write('\t');
+                }
+                UserTsv.writeField(out, values[i]);
+            }
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.backend.User.Cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(5);
+    private static final String PROVIDER = "kakao";
+    private static final String OAUTH_ID = "987654321";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Set<Long> deleted = new HashSet<>();
+    private UserCache cache;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+
+    /**
+     * The repository mock reads like the JPA repository (read-only transaction on the routing
+     * data source) and names each user after the database that served it
+     */
+    @BeforeEach
+    void setUp() {
+        DataSource routing = ReadOnlyRoutingDataSource.routing(
+                new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", ""),
+                new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate = new JdbcTemplate(routing);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnly.setReadOnly(true);
+        when(userRepository.findById(any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return deleted.contains(id) ? Optional.empty() : read(id);
+        });
+
+        cache = new UserCache(userRepository, new SimpleMeterRegistry(),
+                100, TTL, READ_YOUR_WRITES_WINDOW, nanos::get);
+    }
+
+    @Test
+    void missesLoadFromTheReplicaAndHitsAreCached() {
+        assertThat(name(1L)).isEqualTo("REPLICA");
+        assertThat(name(1L)).isEqualTo("REPLICA");
+
+        verify(userRepository, times(1)).findById(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotsExpireAfterTheTtl() {
+        name(1L);
+        advance(TTL.minusSeconds(1));
+        name(1L);
+        verify(userRepository, times(1)).findById(1L);
+
+        advance(Duration.ofSeconds(1));
+        name(1L);
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void invalidatedUserIsReloadedFromThePrimary() {
+        assertThat(name(1L)).isEqualTo("REPLICA");
+
+        cache.invalidate(cached(1L));
+
+        assertThat(name(1L)).isEqualTo("PRIMARY");
+        assertThat(name(2L)).isEqualTo("REPLICA");
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void replicaIsUsedAgainAfterTheReadYourWritesWindow() {
+        cache.invalidate(cached(1L));
+        advance(READ_YOUR_WRITES_WINDOW);
+        cache.invalidate(cached(2L));
+
+        assertThat(name(1L)).isEqualTo("REPLICA");
+        assertThat(name(2L)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void indexServesRepeatLookupsUntilTheTtl() {
+        when(userRepository.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).thenAnswer(invocation -> read(1L));
+
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::id).contains(1L);
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::id).contains(1L);
+        verify(userRepository, times(1)).findByProviderAndOauthId(PROVIDER, OAUTH_ID);
+
+        advance(TTL);
+        cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID);
+        verify(userRepository, times(2)).findByProviderAndOauthId(PROVIDER, OAUTH_ID);
+    }
+
+    @Test
+    void writesRepointTheIndex() {
+        when(userRepository.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).thenAnswer(invocation -> read(1L));
+        cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID);
+
+        // Deleted and registered again under a new id
+        deleted.add(1L);
+        cache.invalidate(cached(2L));
+
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::id).contains(2L);
+        verify(userRepository, times(1)).findByProviderAndOauthId(PROVIDER, OAUTH_ID);
+    }
+
+    @Test
+    void deletedUserIsNotServedUnderItsIndexedId() {
+        when(userRepository.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).thenAnswer(invocation -> read(1L));
+        cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID);
+        cache.invalidate(cached(1L));
+
+        // Deleted outside this instance, then registered again under a new id
+        deleted.add(1L);
+        when(userRepository.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).thenAnswer(invocation -> read(2L));
+
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::id).contains(2L);
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::id).contains(2L);
+    }
+
+    @Test
+    void keyLookupsWithinTheReadYourWritesWindowUseThePrimary() {
+        when(userRepository.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).thenAnswer(invocation -> read(1L));
+        when(userRepository.findByProviderAndOauthId(PROVIDER, "other")).thenAnswer(invocation -> read(2L));
+        cache.invalidate(cached(1L));
+        // A later write of the same user rolls back, which drops the index entry
+        rolledBackWrite(cached(1L));
+
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::name).contains("PRIMARY");
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, "other")).map(CachedUser::name).contains("REPLICA");
+    }
+
+    @Test
+    void keyLookupsUseTheReplicaAgainAfterTheWindow() {
+        when(userRepository.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).thenAnswer(invocation -> read(1L));
+        rolledBackWrite(cached(1L));
+        advance(READ_YOUR_WRITES_WINDOW);
+
+        assertThat(cache.findByProviderAndOauthId(PROVIDER, OAUTH_ID)).map(CachedUser::name).contains("REPLICA");
+    }
+
+    private String name(Long id) {
+        return cache.findById(id).map(CachedUser::name).orElseThrow();
+    }
+
+    /**
+     * invalidate inside a transaction that rolls back
+     */
+    private void rolledBackWrite(CachedUser user) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(user);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private Optional<User> read(Long id) {
+        return readOnly.execute(status -> Optional.of(user(id,
+                jdbcTemplate.queryForObject("SELECT DATABASE()", String.class))));
+    }
+
+    private static CachedUser cached(Long id) {
+        return CachedUser.from(user(id, "saved"));
+    }
+
+    private static User user(Long id, String name) {
+        return User.builder().id(id).provider(PROVIDER).oauthId(OAUTH_ID).name(name).build();
+    }
+}
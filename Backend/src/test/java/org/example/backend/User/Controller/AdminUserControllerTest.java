@@ -0,0 +1,98 @@
+package org.example.backend.User.Controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.user.admin-page-max-size=4", "app.user.batch-max-ids=3"})
+@AutoConfigureMockMvc
+@ActiveProfiles("stub-provider")
+class AdminUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Shared context: each test adds rows, assertions compare against the whole table
+        for (int i = 0; i < 7; i++) {
+            userRepository.save(User.builder().provider("kakao").oauthId("admin-listing-" + System.nanoTime())
+                    .name("user" + i).build());
+        }
+    }
+
+    @Test
+    void listingRequiresTheAdminRole() throws Exception {
+        mockMvc.perform(get("/api/admin/users").with(as(Role.USER))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/users").with(as(Role.ADMIN))).andExpect(status().isOk());
+    }
+
+    @Test
+    void keysetPagesNeitherSkipNorRepeatRows() throws Exception {
+        List<Long> listed = new ArrayList<>();
+        String after = "0";
+        int pages = 0;
+        do {
+            JsonNode page = getJson("/api/admin/users?size=3&after=" + after);
+            page.get("items").forEach(item -> listed.add(item.get("id").asLong()));
+            after = page.get("nextAfter").isNull() ? null : page.get("nextAfter").asText();
+            pages++;
+        } while (after != null);
+
+        List<Long> all = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        assertThat(listed).containsExactlyElementsOf(all);
+        assertThat(pages).isGreaterThan(2);
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        JsonNode page = getJson("/api/admin/users?size=1000");
+
+        assertThat(page.get("items")).hasSize(4);
+        assertThat(page.get("nextAfter").asLong()).isEqualTo(page.get("items").get(3).get("id").asLong());
+    }
+
+    private JsonNode getJson(String uri) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(uri).with(as(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    static RequestPostProcessor as(Role role) {
+        return as(new UserPrincipal(1L, "kakao", "principal-" + role, role));
+    }
+
+    static RequestPostProcessor as(UserPrincipal principal) {
+        return authentication(new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "kakao"));
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.User.Controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.User.Cache.UserCache;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.User.Service.UserLoginService;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.backend.User.Controller.AdminUserControllerTest.as;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Same settings as AdminUserControllerTest, so the context is shared
+@SpringBootTest(properties = {"app.user.admin-page-max-size=4", "app.user.batch-max-ids=3"})
+@AutoConfigureMockMvc
+@ActiveProfiles("stub-provider")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserLoginService userLoginService;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            ids.add(userRepository.save(User.builder().provider("kakao").oauthId("batch-" + System.nanoTime())
+                    .name("batch" + i).build()).getId());
+        }
+    }
+
+    @Test
+    void batchSkipsDuplicateAndUnknownIds() throws Exception {
+        long unknown = ids.get(2) + 1_000_000;
+
+        JsonNode users = batch(ids.get(2) + "," + ids.get(0) + "," + ids.get(2) + "," + unknown + "," + ids.get(0));
+
+        assertThat(users).extracting(user -> user.get("id").asLong()).containsExactly(ids.get(0), ids.get(2));
+        assertThat(users.get(0).get("name").asText()).isEqualTo("batch0");
+    }
+
+    @Test
+    void batchLimitCountsDistinctIds() throws Exception {
+        // 5 ids, 3 distinct: within the limit of 3
+        assertThat(batch(ids.get(0) + "," + ids.get(1) + "," + ids.get(2) + "," + ids.get(1) + "," + ids.get(0)))
+                .hasSize(3);
+
+        mockMvc.perform(get("/api/users/batch").param("ids", ids.get(0) + "," + ids.get(1) + "," + ids.get(2)
+                        + "," + (ids.get(2) + 1_000_000)).with(as(Role.USER)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void currentUserIsServedWithAValidatorAndPrivateCaching() throws Exception {
+        User user = userRepository.findById(ids.get(0)).orElseThrow();
+        RequestPostProcessor login = as(new UserPrincipal(user.getId(), "kakao", user.getOauthId(), Role.USER));
+
+        MockHttpServletResponse first = mockMvc.perform(get("/api/users/me").with(login))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).contains("private");
+        assertThat(String.join(", ", first.getHeaders(HttpHeaders.VARY)))
+                .contains(HttpHeaders.COOKIE, HttpHeaders.AUTHORIZATION);
+        assertThat(objectMapper.readTree(first.getContentAsByteArray()).get("name").asText()).isEqualTo("batch0");
+
+        mockMvc.perform(get("/api/users/me").with(login).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]))
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // Profile change on the next login, as OAuth2UserService applies it
+        userCache.invalidate(userLoginService.updateProfile("kakao", user.getOauthId(), user.getEmail(), "renamed",
+                LocalDateTime.now()));
+
+        MockHttpServletResponse changed = mockMvc.perform(get("/api/users/me").with(login)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(objectMapper.readTree(changed.getContentAsByteArray()).get("name").asText()).isEqualTo("renamed");
+    }
+
+    private JsonNode batch(String ids) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/users/batch").param("ids", ids).with(as(Role.USER)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.backend.User.Id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdGeneratorTest {
+
+    /**
+     * Number.MAX_SAFE_INTEGER
+     */
+    private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    @Test
+    void idsIncreaseAndStayExactInJavaScript() {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.forNode(255);
+        long previous = 0;
+        // More than one second's worth of sequence numbers: continues on the logical clock
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous).isLessThanOrEqualTo(MAX_SAFE_INTEGER);
+            assertThat((long) (double) id).isEqualTo(id);
+            assertThat((id >>> 14) & 0xFF).isEqualTo(255);
+            previous = id;
+        }
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.forNode(7);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < 25_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+        }
+        Set<Long> unique = new HashSet<>();
+        for (Future<List<Long>> result : results) {
+            unique.addAll(result.get());
+        }
+        assertThat(unique).hasSize(100_000);
+    }
+
+    @Test
+    void advancePastSkipsToTheSecondAfterTheGivenId() {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.forNode(3);
+        // Another node's id, an hour ahead of the wall clock (a logical clock after a large import)
+        long seconds = System.currentTimeMillis() / 1000 - TimeOrderedIdGenerator.EPOCH_SECONDS + 3_600;
+        long ahead = (seconds << 22) | (200L << 14) | 5;
+
+        generator.advancePast(ahead);
+        long next = generator.nextId();
+
+        assertThat(next).isGreaterThan(ahead);
+        assertThat(next >>> 22).isEqualTo(seconds + 1);
+        // Never moves backwards
+        generator.advancePast(1);
+        assertThat(generator.nextId()).isEqualTo(next + 1);
+    }
+
+    @Test
+    void rejectsNodeOutsideEightBits() {
+        assertThatThrownBy(() -> TimeOrderedIdGenerator.forNode(256)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeOrderedIdGenerator.forNode(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
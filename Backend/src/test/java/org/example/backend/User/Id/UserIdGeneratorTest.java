@@ -0,0 +1,68 @@
+package org.example.backend.User.Id;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdGeneratorTest {
+
+    private final DataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:user-id-generator;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS user_id_sequence");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE user_id_sequence (name VARCHAR(32) PRIMARY KEY, next_val BIGINT NOT NULL)");
+    }
+
+    @Test
+    void timeOrderedIdsContinuePastTheStoredMaximumAfterARestart() {
+        // Written by an earlier run whose logical clock was an hour ahead (large import)
+        long ahead = timeOrderedId(nowSeconds() + 3_600, 11, 100);
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (?)", ahead);
+
+        UserIdGenerator generator = new UserIdGenerator(dataSource, "time-ordered", 50, 11);
+        generator.afterSingletonsInstantiated();
+
+        assertThat(generator.nextId()).isGreaterThan(ahead);
+    }
+
+    @Test
+    void timeOrderedAdvancePastCoversImportedIds() {
+        UserIdGenerator generator = new UserIdGenerator(dataSource, "time-ordered", 50, 12);
+        generator.afterSingletonsInstantiated();
+        long imported = timeOrderedId(nowSeconds() + 600, 12, 16_383);
+
+        generator.advancePast(imported);
+
+        assertThat(generator.nextId()).isGreaterThan(imported);
+    }
+
+    @Test
+    void pooledBlocksStartPastTheImportedMaximum() {
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (5)");
+        UserIdGenerator generator = new UserIdGenerator(dataSource, "pooled", 50, 0);
+        generator.afterSingletonsInstantiated();
+        assertThat(generator.nextId()).isEqualTo(6);
+
+        generator.advancePast(1_000);
+
+        assertThat(generator.nextId()).isEqualTo(1_001);
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000 - TimeOrderedIdGenerator.EPOCH_SECONDS;
+    }
+
+    private static long timeOrderedId(long seconds, int node, int sequence) {
+        return (seconds << 22) | ((long) node << 14) | sequence;
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.backend.User.Json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Dto.UserResponseDto;
+import org.example.backend.User.Dto.UserSummary;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserJsonWriter must produce byte-for-byte what Jackson (previous path) produced for the same response
+ */
+class UserJsonWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_450_000);
+
+    /**
+     * Same settings as the Spring Boot ObjectMapper (ISO dates, nulls included)
+     */
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    static Stream<String> names() {
+        String controlCharacters = IntStream.range(0, 0x20)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+        return Stream.of(
+                "plain",
+                "",
+                "say \"hi\"",
+                "back\\slash \\\"",
+                controlCharacters,
+                "tab\tnew\nline\r\n",
+                "\u007F del",
+                "홍길동",
+                "벤치 \"유저\"\n",
+                "emoji \uD83D\uDE00 pair",
+                "line\u2028separator",
+                "</script>&'");
+    }
+
+    @ParameterizedTest
+    @MethodSource("names")
+    void userMatchesJackson(String name) throws IOException {
+        CachedUser user = user(1L, name, name + "@example.com", Role.USER, CREATED_AT);
+
+        assertThat(writerUser(user)).isEqualTo(jacksonUser(user));
+    }
+
+    @Test
+    void userWithNullFieldsMatchesJackson() throws IOException {
+        CachedUser user = user(7L, null, null, null, null);
+
+        assertThat(writerUser(user)).isEqualTo(jacksonUser(user))
+                .isEqualTo("{\"id\":7,\"email\":null,\"name\":null,\"role\":null,\"provider\":\"kakao\",\"createdAt\":null}");
+    }
+
+    @Test
+    void datesMatchJackson() throws IOException {
+        List<LocalDateTime> dates = List.of(
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 1, 1, 0, 0, 0, 1),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(2024, 6, 15, 9, 5, 7, 120_000_000),
+                LocalDateTime.of(2024, 6, 15, 9, 5, 7, 123_456_000));
+        for (LocalDateTime date : dates) {
+            CachedUser user = user(1L, "A", "a@example.com", Role.ADMIN, date);
+            assertThat(writerUser(user)).isEqualTo(jacksonUser(user));
+        }
+    }
+
+    @Test
+    void largeIdsMatchJackson() throws IOException {
+        for (long id : new long[]{0L, 1L << 53, Long.MAX_VALUE}) {
+            CachedUser user = user(id, "A", "a@example.com", Role.USER, CREATED_AT);
+            assertThat(writerUser(user)).isEqualTo(jacksonUser(user));
+        }
+    }
+
+    @Test
+    void summariesMatchJackson() throws IOException {
+        List<UserSummary> summaries = new ArrayList<>();
+        assertThat(writerSummaries(summaries)).isEqualTo(jackson(summaries));
+
+        names().forEach(name -> summaries.add(new UserSummary((long) summaries.size(), name, "kakao")));
+        summaries.add(new UserSummary(null, null, null));
+        assertThat(writerSummaries(summaries)).isEqualTo(jackson(summaries));
+    }
+
+    /**
+     * Map.of iteration order is unspecified, so the attribute JSON is compared as parsed maps
+     */
+    @Test
+    void principalAttributesMatchJackson() throws IOException {
+        UserPrincipal principal = new UserPrincipal(123L, "kakao", "98\"76\\54", Role.USER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserJsonWriter.writePrincipalAttributes(principal, out);
+
+        Map<?, ?> written = objectMapper.readValue(out.toByteArray(), Map.class);
+        Map<?, ?> jackson = objectMapper.readValue(objectMapper.writeValueAsBytes(principal.getAttributes()), Map.class);
+        assertThat(written).isEqualTo(jackson);
+    }
+
+    @Test
+    void streamingMatchesTheByteArrayForm() throws IOException {
+        CachedUser user = user(1L, "벤치 \"유저\"\n", "a@example.com", Role.USER, CREATED_AT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserJsonWriter.writeUser(user, out);
+
+        assertThat(Arrays.equals(out.toByteArray(), UserJsonWriter.user(user))).isTrue();
+    }
+
+    private static CachedUser user(Long id, String name, String email, Role role, LocalDateTime createdAt) {
+        return new CachedUser(id, "kakao", "987654321", email, name, role, createdAt, null, createdAt);
+    }
+
+    private static String writerUser(CachedUser user) {
+        return new String(UserJsonWriter.user(user), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * What UserController returned before UserJsonWriter: UserResponseDto serialized by Jackson
+     */
+    private String jacksonUser(CachedUser user) throws IOException {
+        UserResponseDto dto = UserResponseDto.builder()
+                .id(user.id())
+                .email(user.email())
+                .name(user.name())
+                .role(user.role() != null ? user.role().name() : null)
+                .provider(user.provider())
+                .createdAt(user.createdAt())
+                .build();
+        return jackson(dto);
+    }
+
+    /**
+     * Through the UTF-8 generator, as the message converter wrote responses
+     * (writeValueAsString would not escape surrogates)
+     */
+    private String jackson(Object value) throws IOException {
+        return new String(objectMapper.writeValueAsBytes(value), StandardCharsets.UTF_8);
+    }
+
+    private static String writerSummaries(List<UserSummary> summaries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserJsonWriter.writeSummaries(summaries, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
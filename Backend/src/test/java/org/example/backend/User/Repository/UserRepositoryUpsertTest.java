@@ -0,0 +1,146 @@
+package org.example.backend.User.Repository;
+
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Id.UserIdGenerator;
+import org.example.backend.User.Repository.UserRepositoryCustom.UpsertResult;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserRepositoryCustomImpl.upsert on H2, and on MySQL when TEST_MYSQL_URL (+ TEST_MYSQL_USERNAME,
+ * TEST_MYSQL_PASSWORD) points at a throwaway database, e.g. the mysql service of compose.yaml
+ * The users table is dropped and recreated for every test
+ */
+class UserRepositoryUpsertTest {
+
+    private static final String H2_DDL = """
+            CREATE TABLE users (
+                id BIGINT PRIMARY KEY, provider VARCHAR(20) NOT NULL, oauth_id VARCHAR(100) NOT NULL,
+                email VARCHAR(100), name VARCHAR(50), role VARCHAR(20) NOT NULL DEFAULT 'USER',
+                created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, last_login_at TIMESTAMP,
+                UNIQUE (provider, oauth_id))
+            """;
+
+    private static final String MYSQL_DDL = """
+            CREATE TABLE users (
+                id BIGINT PRIMARY KEY, provider VARCHAR(20) NOT NULL, oauth_id VARCHAR(100) NOT NULL,
+                email VARCHAR(100), name VARCHAR(50), role VARCHAR(20) NOT NULL DEFAULT 'USER',
+                created_at DATETIME NOT NULL, updated_at DATETIME, last_login_at DATETIME,
+                UNIQUE KEY unique_provider_oauth (provider, oauth_id)) ENGINE=InnoDB
+            """;
+
+    private static final int CONCURRENT_LOGINS = 8;
+
+    /**
+     * Whole seconds: MySQL DATETIME has no fractional part
+     */
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    static Stream<Database> databases() {
+        Stream<Database> h2 = Stream.of(new Database("h2",
+                new DriverManagerDataSource("jdbc:h2:mem:upsert;DB_CLOSE_DELAY=-1", "sa", ""), H2_DDL));
+        String mysqlUrl = System.getenv("TEST_MYSQL_URL");
+        if (mysqlUrl == null || mysqlUrl.isBlank()) {
+            return h2;
+        }
+        return Stream.concat(h2, Stream.of(new Database("mysql", new DriverManagerDataSource(mysqlUrl,
+                System.getenv("TEST_MYSQL_USERNAME"), System.getenv("TEST_MYSQL_PASSWORD")), MYSQL_DDL)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("databases")
+    void insertsNewUser(Database database) {
+        UserRepositoryCustomImpl repository = database.recreate();
+
+        UpsertResult result = repository.upsert("kakao", "1", "a@example.com", "A", now);
+
+        assertThat(result.inserted()).isTrue();
+        assertThat(result.user()).isEqualTo(new CachedUser(result.user().id(), "kakao", "1", "a@example.com", "A",
+                Role.USER, now, null, now));
+        assertThat(database.count()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("databases")
+    void updatesExistingUserKeepingRoleAndCreatedAt(Database database) {
+        UserRepositoryCustomImpl repository = database.recreate();
+        Long id = repository.upsert("kakao", "1", "a@example.com", "A", now).user().id();
+        database.jdbcTemplate().update("UPDATE users SET role = 'ADMIN' WHERE id = ?", id);
+        LocalDateTime later = now.plusMinutes(1);
+
+        UpsertResult unchanged = repository.upsert("kakao", "1", "a@example.com", "A", later);
+        UpsertResult changed = repository.upsert("kakao", "1", "b@example.com", "B", later.plusMinutes(1));
+
+        assertThat(unchanged.inserted()).isFalse();
+        assertThat(unchanged.user()).isEqualTo(new CachedUser(id, "kakao", "1", "a@example.com", "A",
+                Role.ADMIN, now, null, later));
+        assertThat(changed.inserted()).isFalse();
+        assertThat(changed.user()).isEqualTo(new CachedUser(id, "kakao", "1", "b@example.com", "B",
+                Role.ADMIN, now, later.plusMinutes(1), later.plusMinutes(1)));
+        assertThat(database.count()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("databases")
+    void concurrentFirstLoginsCreateOneRow(Database database) throws Exception {
+        UserRepositoryCustomImpl repository = database.recreate();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UpsertResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_LOGINS)) {
+            for (int i = 0; i < CONCURRENT_LOGINS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return repository.upsert("kakao", "1", "a@example.com", "A", now);
+                }));
+            }
+            start.countDown();
+        }
+
+        List<UpsertResult> upserts = new ArrayList<>();
+        for (Future<UpsertResult> result : results) {
+            upserts.add(result.get());
+        }
+        assertThat(upserts).extracting(result -> result.user().id()).containsOnly(upserts.get(0).user().id());
+        assertThat(upserts).filteredOn(UpsertResult::inserted).hasSize(1);
+        assertThat(upserts).extracting(result -> result.user().role()).containsOnly(Role.USER);
+        assertThat(database.count()).isEqualTo(1);
+    }
+
+    record Database(String name, DriverManagerDataSource dataSource, String ddl) {
+
+        JdbcTemplate jdbcTemplate() {
+            return new JdbcTemplate(dataSource);
+        }
+
+        UserRepositoryCustomImpl recreate() {
+            jdbcTemplate().execute("DROP TABLE IF EXISTS users");
+            jdbcTemplate().execute(ddl);
+            return new UserRepositoryCustomImpl(jdbcTemplate(),
+                    new UserIdGenerator(dataSource, "time-ordered", 50, 0));
+        }
+
+        int count() {
+            return jdbcTemplate().queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.backend.auth.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserInfoBulkheadInterceptorTest {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserInfoBulkheadInterceptor bulkhead =
+            new UserInfoBulkheadInterceptor(2, Duration.ofMillis(50), meterRegistry);
+    private final MockClientHttpRequest request =
+            new MockClientHttpRequest(HttpMethod.GET, URI.create("https://kapi.kakao.com/v2/user/me"));
+
+    @Test
+    void callsOverThePermitCountAreRejected() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution slowProvider = (request, body) -> {
+            inFlight.countDown();
+            await(release);
+            return new MockClientHttpResponse(NO_BODY, HttpStatus.OK);
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> first = executor.submit(() -> bulkhead.intercept(request, NO_BODY, slowProvider));
+            Future<?> second = executor.submit(() -> bulkhead.intercept(request, NO_BODY, slowProvider));
+            assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> bulkhead.intercept(request, NO_BODY, slowProvider))
+                    .isInstanceOf(ResourceAccessException.class)
+                    .hasMessageContaining("bulkhead full");
+            assertThat(meterRegistry.get("user.info.client.bulkhead.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            first.get();
+            second.get();
+        }
+        assertThat(available()).isEqualTo(2);
+    }
+
+    @Test
+    void failedCallsReleaseTheirPermit() throws Exception {
+        ClientHttpRequestExecution failing = (request, body) -> {
+            throw new IOException("connection reset");
+        };
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> bulkhead.intercept(request, NO_BODY, failing)).isInstanceOf(IOException.class);
+        }
+
+        assertThat(available()).isEqualTo(2);
+        assertThat(bulkhead.intercept(request, NO_BODY,
+                (request, body) -> new MockClientHttpResponse(NO_BODY, HttpStatus.OK)).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(meterRegistry.get("user.info.client.requests").tag("outcome", "IO_ERROR").timer().count())
+                .isEqualTo(3);
+    }
+
+    private double available() {
+        return meterRegistry.get("user.info.client.bulkhead.available").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Test did not release the call");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
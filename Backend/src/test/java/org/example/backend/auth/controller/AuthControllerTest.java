@@ -0,0 +1,84 @@
+package org.example.backend.auth.controller;
+
+import jakarta.servlet.http.Cookie;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest {
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(
+            "0123456789abcdef0123456789abcdef", Duration.ofMinutes(15), Duration.ofDays(14), false);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuthController(provider, userRepository)).build();
+    }
+
+    @Test
+    void refreshReadsTheCurrentRole() throws Exception {
+        // Refresh token issued while the user was an admin, demoted since
+        String refreshToken = provider.createRefreshToken(new UserPrincipal(42L, "kakao", "987654321", Role.ADMIN));
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user(Role.USER)));
+
+        MockHttpServletResponse response = mockMvc.perform(post(JwtTokenProvider.REFRESH_PATH)
+                        .cookie(new Cookie(JwtTokenProvider.REFRESH_TOKEN_COOKIE, refreshToken)))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse();
+
+        Cookie accessCookie = response.getCookie(JwtTokenProvider.ACCESS_TOKEN_COOKIE);
+        assertThat(accessCookie).isNotNull();
+        OAuth2AuthenticationToken authentication = provider.getAuthentication(accessCookie.getValue());
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void refreshOfADeletedUserIsRejectedAndClearsTheCookies() throws Exception {
+        String refreshToken = provider.createRefreshToken(new UserPrincipal(42L, "kakao", "987654321", Role.ADMIN));
+        when(userRepository.findById(42L)).thenReturn(Optional.empty());
+
+        MockHttpServletResponse response = mockMvc.perform(post(JwtTokenProvider.REFRESH_PATH)
+                        .cookie(new Cookie(JwtTokenProvider.REFRESH_TOKEN_COOKIE, refreshToken)))
+                .andExpect(status().isUnauthorized())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE))
+                .hasSize(2)
+                .allSatisfy(cookie -> assertThat(cookie).contains("Max-Age=0"));
+    }
+
+    @Test
+    void accessTokenOrNoCookieCannotRefresh() throws Exception {
+        String accessToken = provider.createAccessToken(new UserPrincipal(42L, "kakao", "987654321", Role.USER));
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user(Role.USER)));
+
+        mockMvc.perform(post(JwtTokenProvider.REFRESH_PATH)
+                        .cookie(new Cookie(JwtTokenProvider.REFRESH_TOKEN_COOKIE, accessToken)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post(JwtTokenProvider.REFRESH_PATH)).andExpect(status().isUnauthorized());
+    }
+
+    private static User user(Role role) {
+        return User.builder().id(42L).provider("kakao").oauthId("987654321").role(role).build();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.backend.auth.handler;
+
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.web.WebAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OAuth2FailureHandlerTest {
+
+    private final OAuth2FailureHandler handler = new OAuth2FailureHandler();
+
+    @Test
+    void concurrencyRejectionRestartsTheLogin() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/kakao");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        OAuth2AuthenticationException exception = new OAuth2AuthenticationException(
+                new OAuth2Error(LoginAdmissionControl.TOO_MANY_REQUESTS), "Too many concurrent logins");
+
+        handler.onAuthenticationFailure(request, response, exception);
+
+        // The code was redeemed: no Retry-After for the callback, a fresh login from the login page instead
+        assertThat(response.getRedirectedUrl()).isEqualTo("/login?error=busy");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+        assertThat(request.getSession().getAttribute(WebAttributes.AUTHENTICATION_EXCEPTION)).isSameAs(exception);
+    }
+
+    @Test
+    void otherFailuresRedirectToLoginError() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        handler.onAuthenticationFailure(new MockHttpServletRequest("GET", "/login/oauth2/code/kakao"), response,
+                new OAuth2AuthenticationException(new OAuth2Error("invalid_token")));
+
+        assertThat(response.getRedirectedUrl()).isEqualTo("/login?error");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+}
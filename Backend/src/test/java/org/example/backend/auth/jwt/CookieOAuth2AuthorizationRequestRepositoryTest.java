@@ -0,0 +1,123 @@
+package org.example.backend.auth.jwt;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CookieOAuth2AuthorizationRequestRepositoryTest {
+
+    private final SecretKey key = new SecretKeySpec(
+            "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    private final CookieOAuth2AuthorizationRequestRepository repository =
+            new CookieOAuth2AuthorizationRequestRepository(key, false);
+
+    @Test
+    void roundTripsTheAuthorizationRequestAndExpiresTheCookieOnRemoval() {
+        OAuth2AuthorizationRequest authorizationRequest = authorizationRequest();
+        String value = save(authorizationRequest);
+
+        OAuth2AuthorizationRequest loaded = repository.loadAuthorizationRequest(requestWith(value));
+        assertThat(loaded.getState()).isEqualTo("state-1");
+        assertThat(loaded.getAuthorizationRequestUri()).isEqualTo(authorizationRequest.getAuthorizationRequestUri());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(repository.removeAuthorizationRequest(requestWith(value), response)).isNotNull();
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+                .startsWith(CookieOAuth2AuthorizationRequestRepository.COOKIE_NAME + "=;")
+                .contains("Max-Age=0");
+    }
+
+    @Test
+    void refusesCookiesWithABadSignature() {
+        String value = save(authorizationRequest());
+        String payload = value.substring(0, value.indexOf('.'));
+        String otherSignature = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[32]);
+
+        assertThat(repository.loadAuthorizationRequest(requestWith(payload + "." + otherSignature))).isNull();
+        assertThat(repository.loadAuthorizationRequest(requestWith(payload))).isNull();
+        assertThat(repository.loadAuthorizationRequest(requestWith("%%%.%%%"))).isNull();
+    }
+
+    @Test
+    void refusesCookiesSignedWithAnotherKey() {
+        String value = save(authorizationRequest());
+        CookieOAuth2AuthorizationRequestRepository other = new CookieOAuth2AuthorizationRequestRepository(
+                new SecretKeySpec(new byte[32], "HmacSHA256"), false);
+
+        assertThat(other.loadAuthorizationRequest(requestWith(value))).isNull();
+    }
+
+    @Test
+    void refusesSignedCookiesWithClassesOutsideTheAllowList() throws Exception {
+        // Correctly signed, so only the deserialization filter stands in the way
+        byte[] payload = serialize(new File("/etc/passwd"));
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String value = encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+
+        assertThat(repository.loadAuthorizationRequest(requestWith(value))).isNull();
+    }
+
+    @Test
+    void refusesSignedCookiesOfAnotherAllowedType() throws Exception {
+        byte[] payload = serialize("not an authorization request");
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String value = encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+
+        assertThat(repository.loadAuthorizationRequest(requestWith(value))).isNull();
+    }
+
+    private String save(OAuth2AuthorizationRequest authorizationRequest) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), response);
+        Cookie cookie = response.getCookie(CookieOAuth2AuthorizationRequestRepository.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        return cookie.getValue();
+    }
+
+    private static MockHttpServletRequest requestWith(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(CookieOAuth2AuthorizationRequestRepository.COOKIE_NAME, value));
+        return request;
+    }
+
+    private static OAuth2AuthorizationRequest authorizationRequest() {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+                .clientId("client")
+                .redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+                .state("state-1")
+                .attributes(attributes -> attributes.put("registration_id", "kakao"))
+                .build();
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] sign(byte[] payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(key);
+        return mac.doFinal(payload);
+    }
+}
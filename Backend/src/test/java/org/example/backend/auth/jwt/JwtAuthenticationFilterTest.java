@@ -0,0 +1,79 @@
+package org.example.backend.auth.jwt;
+
+import jakarta.servlet.http.Cookie;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private final UserPrincipal principal = new UserPrincipal(42L, "kakao", "987654321", Role.USER);
+    private final JwtTokenProvider provider = new JwtTokenProvider(
+            "0123456789abcdef0123456789abcdef", Duration.ofMinutes(15), Duration.ofDays(14), false, Clock.systemUTC());
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(provider);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validAccessCookieAuthenticatesTheRequest() throws Exception {
+        Authentication authentication = filter(cookie(JwtTokenProvider.ACCESS_TOKEN_COOKIE,
+                provider.createAccessToken(principal)));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+    }
+
+    @Test
+    void bearerHeaderAuthenticatesTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + provider.createAccessToken(principal));
+
+        assertThat(filter(request)).isNotNull();
+    }
+
+    @Test
+    void refreshTokenInTheAccessCookieIsIgnored() throws Exception {
+        assertThat(filter(cookie(JwtTokenProvider.ACCESS_TOKEN_COOKIE, provider.createRefreshToken(principal))))
+                .isNull();
+    }
+
+    @Test
+    void invalidOrMisplacedTokensAreIgnored() throws Exception {
+        String accessToken = provider.createAccessToken(principal);
+
+        assertThat(filter(cookie(JwtTokenProvider.ACCESS_TOKEN_COOKIE, accessToken + "x"))).isNull();
+        assertThat(filter(cookie(JwtTokenProvider.REFRESH_TOKEN_COOKIE, accessToken))).isNull();
+        assertThat(filter(new MockHttpServletRequest())).isNull();
+    }
+
+    /**
+     * @return Authentication left in the SecurityContext for the rest of the chain
+     */
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest cookie(String name, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(name, value));
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.backend.auth.jwt;
+
+import org.example.backend.User.Domain.Role;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final UserPrincipal principal = new UserPrincipal(42L, "kakao", "987654321", Role.ADMIN);
+    private final JwtTokenProvider provider = provider(SECRET, Clock.systemUTC());
+
+    @Test
+    void accessTokenRebuildsThePrincipal() {
+        OAuth2AuthenticationToken authentication = provider.getAuthentication(provider.createAccessToken(principal));
+
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+        assertThat(authentication.getAuthorizedClientRegistrationId()).isEqualTo("kakao");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void refreshTokenIsNotAnAccessToken() {
+        String refreshToken = provider.createRefreshToken(principal);
+
+        assertThat(provider.getAuthentication(refreshToken)).isNull();
+        Jwt jwt = provider.decodeRefreshToken(refreshToken);
+        assertThat(jwt).isNotNull();
+        assertThat(provider.getUserId(jwt)).isEqualTo(42L);
+    }
+
+    @Test
+    void accessTokenIsNotARefreshToken() {
+        assertThat(provider.decodeRefreshToken(provider.createAccessToken(principal))).isNull();
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = provider.createAccessToken(principal);
+        String[] parts = token.split("\\.");
+        // Original signature over a payload naming another user
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                claims.replace("\"sub\":\"42\"", "\"sub\":\"1\"").getBytes(StandardCharsets.UTF_8));
+        assertThat(forgedPayload).isNotEqualTo(parts[1]);
+
+        assertThat(provider.getAuthentication(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+        assertThat(provider.getAuthentication(token.substring(0, token.length() - 2))).isNull();
+        assertThat(provider.getAuthentication("not-a-jwt")).isNull();
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        JwtTokenProvider other = provider("fedcba9876543210fedcba9876543210", Clock.systemUTC());
+
+        assertThat(provider.getAuthentication(other.createAccessToken(principal))).isNull();
+        assertThat(provider.decodeRefreshToken(other.createRefreshToken(principal))).isNull();
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        // Issued 20 minutes ago with a 15 minute TTL, beyond the decoder's 60 second clock skew
+        Clock past = Clock.fixed(Instant.now().minus(Duration.ofMinutes(20)), ZoneOffset.UTC);
+        JwtTokenProvider issuedEarlier = provider(SECRET, past);
+
+        assertThat(provider.getAuthentication(issuedEarlier.createAccessToken(principal))).isNull();
+        assertThat(provider.decodeRefreshToken(issuedEarlier.createRefreshToken(principal))).isNotNull();
+    }
+
+    @Test
+    void expiresBothCookiesOnTheirOwnPaths() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        provider.expireTokenCookies(response);
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).satisfiesExactly(
+                cookie -> assertThat(cookie).startsWith("access_token=;").contains("Path=/;", "Max-Age=0"),
+                cookie -> assertThat(cookie).startsWith("refresh_token=;")
+                        .contains("Path=" + JwtTokenProvider.REFRESH_PATH + ";", "Max-Age=0"));
+    }
+
+    @Test
+    void rejectsShortSecrets() {
+        assertThatThrownBy(() -> provider("too-short", Clock.systemUTC()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JwtTokenProvider provider(String secret, Clock clock) {
+        return new JwtTokenProvider(secret, Duration.ofMinutes(15), Duration.ofDays(14), false, clock);
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.backend.auth.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.User.Cache.UserCache;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.User.Service.UserLoginService;
+import org.example.backend.auth.handler.OAuth2SuccessHandler;
+import org.example.backend.auth.jwt.JwtTokenProvider;
+import org.example.backend.auth.logging.LoginLogSampler;
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.example.backend.auth.service.OAuth2UserService;
+import org.example.backend.config.SessionMode;
+import org.example.backend.events.EventOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoginMetricsTest {
+
+    private static final String OAUTH_ID = "987654321";
+    private static final ClientRegistration KAKAO = ClientRegistration.withRegistrationId("kakao")
+            .clientId("client")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+            .tokenUri("https://kauth.kakao.com/oauth/token")
+            .userInfoUri("https://kapi.kakao.com/v2/user/me")
+            .userNameAttributeName("id")
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginMetrics loginMetrics = new LoginMetrics(meterRegistry);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private OAuth2UserService userService;
+    private OAuth2SuccessHandler successHandler;
+
+    @BeforeEach
+    void setUp() {
+        User stored = User.builder().id(42L).provider("kakao").oauthId(OAUTH_ID).email("user@example.com")
+                .name("Kim").role(Role.USER).lastLoginAt(LocalDateTime.now().minusDays(1)).build();
+        when(userRepository.findByProviderAndOauthId("kakao", OAUTH_ID)).thenReturn(Optional.of(stored));
+
+        LoginLogSampler sampler = new LoginLogSampler(0.0);
+        userService = new OAuth2UserService(new UserLoginService(userRepository, mock(EventOutbox.class)),
+                new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5), Duration.ofSeconds(5)),
+                meterRegistry, restTemplate, loginMetrics, sampler,
+                new LoginAdmissionControl(meterRegistry, new InMemoryClientRegistrationRepository(KAKAO),
+                        20, 2, 100, 200, 100, 50),
+                Duration.ofMinutes(15));
+        userService.initRestOperations();
+
+        JwtTokenProvider tokens = new JwtTokenProvider(
+                "0123456789abcdef0123456789abcdef", Duration.ofMinutes(15), Duration.ofDays(14), false);
+        successHandler = new OAuth2SuccessHandler(
+                new StaticListableBeanFactory(Map.of("jwtTokenProvider", tokens)).getBeanProvider(JwtTokenProvider.class),
+                loginMetrics, sampler);
+        ReflectionTestUtils.setField(successHandler, "redirectUri", "http://localhost:3000");
+        ReflectionTestUtils.setField(successHandler, "sessionMode", SessionMode.JWT);
+    }
+
+    @Test
+    void everyPhaseIsTimedUnderItsTag() {
+        assertThat(meterRegistry.get(LoginMetrics.PHASE_TIMER).timers())
+                .extracting(timer -> timer.getId().getTag("phase"))
+                .containsExactlyInAnyOrder("provider_call", "mapping", "db_lookup", "db_write", "token_issue");
+    }
+
+    @Test
+    void successfulLoginRecordsEachPhaseOnce() throws Exception {
+        when(restTemplate.exchange(
+                ArgumentMatchers.<RequestEntity<?>>any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+                .thenReturn(ResponseEntity.ok(Map.of(
+                        "id", Long.parseLong(OAUTH_ID),
+                        "kakao_account", Map.of("email", "user@example.com", "profile", Map.of("nickname", "Kim")))));
+
+        OAuth2User user = userService.loadUser(userRequest());
+        successHandler.onAuthenticationSuccess(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                new OAuth2AuthenticationToken(user, user.getAuthorities(), "kakao"));
+
+        for (String phase : new String[]{"provider_call", "mapping", "db_lookup", "db_write", "token_issue"}) {
+            assertThat(phase(phase).count()).as(phase).isEqualTo(1);
+            assertThat(phase(phase).totalTime(TimeUnit.NANOSECONDS)).as(phase).isPositive();
+        }
+        assertThat(meterRegistry.get(LoginMetrics.SUCCESS_COUNTER).tag("provider", "kakao").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void failedProviderCallIsTimedButNotCountedAsSuccess() {
+        when(restTemplate.exchange(
+                ArgumentMatchers.<RequestEntity<?>>any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+                .thenThrow(new ResourceAccessException("User-info bulkhead full: kapi.kakao.com"));
+
+        assertThatThrownBy(() -> userService.loadUser(userRequest()))
+                .isInstanceOf(OAuth2AuthenticationException.class);
+
+        assertThat(phase("provider_call").count()).isEqualTo(1);
+        for (String phase : new String[]{"mapping", "db_lookup", "db_write", "token_issue"}) {
+            assertThat(phase(phase).count()).as(phase).isZero();
+        }
+        assertThat(meterRegistry.find(LoginMetrics.SUCCESS_COUNTER).counter()).isNull();
+    }
+
+    private Timer phase(String phase) {
+        return meterRegistry.get(LoginMetrics.PHASE_TIMER).tag("phase", phase).timer();
+    }
+
+    private static OAuth2UserRequest userRequest() {
+        Instant issuedAt = Instant.now();
+        return new OAuth2UserRequest(KAKAO, new OAuth2AccessToken(
+                OAuth2AccessToken.TokenType.BEARER, "token", issuedAt, issuedAt.plusSeconds(60)));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.backend.auth.principal;
+
+import org.example.backend.User.Domain.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalTest {
+
+    private final UserPrincipal principal = new UserPrincipal(42L, "kakao", "987654321", Role.ADMIN);
+
+    @Test
+    void roundTripsThroughJavaSerialization() throws Exception {
+        Object copy = deserialize(serialize(principal));
+
+        assertThat(copy).isInstanceOf(UserPrincipal.class).isEqualTo(principal);
+        UserPrincipal restored = (UserPrincipal) copy;
+        assertThat(restored.getUserId()).isEqualTo(42L);
+        assertThat(restored.getName()).isEqualTo("987654321");
+        assertThat(restored.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(restored.getAttributes())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("id", "987654321", "provider", "kakao", "userId", 42L));
+    }
+
+    @Test
+    void serializedFormIsMuchSmallerThanTheProviderUser() throws IOException {
+        // What the session used to hold: Kakao's user-info response as a DefaultOAuth2User
+        DefaultOAuth2User providerUser = new DefaultOAuth2User(List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Map.of(
+                        "id", 987654321L,
+                        "connected_at", "2024-01-02T03:04:05Z",
+                        "properties", Map.of(
+                                "nickname", "Kim",
+                                "profile_image", "https://k.kakaocdn.net/dn/abcdef/img_640x640.jpg",
+                                "thumbnail_image", "https://k.kakaocdn.net/dn/abcdef/img_110x110.jpg"),
+                        "kakao_account", Map.of(
+                                "profile_nickname_needs_agreement", false,
+                                "profile", Map.of("nickname", "Kim", "is_default_image", false),
+                                "has_email", true,
+                                "email_needs_agreement", false,
+                                "is_email_valid", true,
+                                "is_email_verified", true,
+                                "email", "kim@example.com")),
+                "id");
+
+        int compact = serialize(principal).length;
+        int full = serialize(providerUser).length;
+
+        assertThat(compact).isLessThan(200);
+        assertThat(compact * 5).isLessThan(full);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.backend.auth.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LoginRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Per IP: 2 requests, then one every 10 seconds; per registered provider: 3 requests
+        LoginAdmissionControl admissionControl =
+                new LoginAdmissionControl(meterRegistry, List.of("kakao"), 2, 0.1, 100, 3, 0.1, 10);
+        mockMvc = MockMvcBuilders.standaloneSetup(new LoginEndpoints())
+                .addFilters(new LoginRateLimitFilter(admissionControl))
+                .build();
+    }
+
+    @Test
+    void rejectsRequestsOverTheIpLimitWithRetryAfter() throws Exception {
+        mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/login/oauth2/code/kakao").with(remoteAddr("10.0.0.1"))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+        // Other clients keep their own budget
+        mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.0.2"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsRequestsOverTheProviderLimit() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.1." + i)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.1.4")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/oauth2/authorization/google").with(remoteAddr("10.0.1.4"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownProvidersAreOnlyIpLimited() throws Exception {
+        // Made-up registration ids neither share nor spend the kakao bucket
+        for (int i = 1; i <= 5; i++) {
+            mockMvc.perform(get("/oauth2/authorization/made-up-" + i).with(remoteAddr("10.0.3." + i)))
+                    .andExpect(status().isOk());
+        }
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.4." + i)))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/oauth2/authorization/kakao").with(remoteAddr("10.0.4.4")))
+                .andExpect(status().isTooManyRequests());
+        assertThat(meterRegistry.get("login.admission").tags("limit", "provider", "outcome", "admitted")
+                .counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/ping").with(remoteAddr("10.0.2.1"))).andExpect(status().isOk());
+        }
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    @RestController
+    static class LoginEndpoints {
+
+        @GetMapping({"/oauth2/authorization/{provider}", "/login/oauth2/code/{provider}", "/api/ping"})
+        String ok() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.backend.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Starts at an arbitrary nanoTime-like value, only differences matter
+     */
+    private final AtomicLong clock = new AtomicLong(123_456_789L);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire()).isZero();
+        }
+        assertThat(bucket.tryAcquire()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 4, clock::get);
+        drain(bucket, 2);
+
+        advance(SECOND / 4 - 1);
+        assertThat(bucket.tryAcquire()).isEqualTo(1);
+        advance(1);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isEqualTo(SECOND / 4);
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, clock::get);
+        drain(bucket, 3);
+
+        advance(100 * SECOND);
+        drain(bucket, 3);
+        assertThat(bucket.tryAcquire()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void waitShrinksAsTimePasses() {
+        TokenBucket bucket = new TokenBucket(1, 0.1, clock::get);
+        drain(bucket, 1);
+
+        assertThat(bucket.tryAcquire()).isEqualTo(10 * SECOND);
+        advance(2_500_000_000L);
+        assertThat(bucket.tryAcquire()).isEqualTo(7_500_000_000L);
+        // Rejections do not consume: the wait is unchanged by repeated attempts
+        assertThat(bucket.tryAcquire()).isEqualTo(7_500_000_000L);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(LoginRateLimitFilter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(LoginRateLimitFilter.retryAfterSeconds(SECOND)).isEqualTo(1);
+        assertThat(LoginRateLimitFilter.retryAfterSeconds(SECOND + 1)).isEqualTo(2);
+        assertThat(LoginRateLimitFilter.retryAfterSeconds(7_500_000_000L)).isEqualTo(8);
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedCapacity() throws Exception {
+        int capacity = 100;
+        int threads = 8;
+        TokenBucket bucket = new TokenBucket(capacity, 1, clock::get);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryAcquire() == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+        }
+
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        assertThat(total).isEqualTo(capacity);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+
+    private static void drain(TokenBucket bucket, int tokens) {
+        for (int i = 0; i < tokens; i++) {
+            assertThat(bucket.tryAcquire()).isZero();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.backend.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.User.Cache.CachedUser;
+import org.example.backend.User.Cache.UserCache;
+import org.example.backend.User.Domain.Role;
+import org.example.backend.User.Domain.User;
+import org.example.backend.User.Event.UserLoggedIn;
+import org.example.backend.User.Repository.UserRepository;
+import org.example.backend.User.Repository.UserRepositoryCustom.UpsertResult;
+import org.example.backend.User.Service.UserLoginService;
+import org.example.backend.auth.logging.LoginLogSampler;
+import org.example.backend.auth.metrics.LoginMetrics;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.example.backend.auth.ratelimit.LoginAdmissionControl;
+import org.example.backend.events.EventOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OAuth2UserServiceTest {
+
+    private static final Duration LAST_SEEN_INTERVAL = Duration.ofMinutes(15);
+    private static final String OAUTH_ID = "987654321";
+    private static final ClientRegistration KAKAO = ClientRegistration.withRegistrationId("kakao")
+            .clientId("client")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+            .tokenUri("https://kauth.kakao.com/oauth/token")
+            .userInfoUri("https://kapi.kakao.com/v2/user/me")
+            .userNameAttributeName("id")
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EventOutbox eventOutbox = mock(EventOutbox.class);
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T09:00:00Z"));
+    private OAuth2UserService service;
+
+    /**
+     * Row as stored in the database, the repository mock reads and writes it
+     */
+    private User stored;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findByProviderAndOauthId("kakao", OAUTH_ID))
+                .thenAnswer(invocation -> Optional.ofNullable(stored).map(OAuth2UserServiceTest::copy));
+        when(userRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored).map(OAuth2UserServiceTest::copy));
+        when(userRepository.updateLastLoginAt(anyLong(), any())).thenAnswer(invocation -> {
+            stored.setLastLoginAt(invocation.getArgument(1));
+            return 1;
+        });
+        when(userRepository.upsert(eq("kakao"), eq(OAUTH_ID), any(), any(), any())).thenAnswer(invocation -> {
+            stored.setEmail(invocation.getArgument(2));
+            stored.setName(invocation.getArgument(3));
+            stored.setLastLoginAt(invocation.getArgument(4));
+            return new UpsertResult(CachedUser.from(stored), false);
+        });
+
+        UserCache userCache = new UserCache(userRepository, meterRegistry, 100,
+                Duration.ofMinutes(5), Duration.ofSeconds(5));
+        LoginAdmissionControl admissionControl = new LoginAdmissionControl(meterRegistry,
+                new InMemoryClientRegistrationRepository(KAKAO), 20, 2, 100, 200, 100, 50);
+        service = new OAuth2UserService(new UserLoginService(userRepository, eventOutbox), userCache, meterRegistry,
+                restTemplate, new LoginMetrics(meterRegistry), new LoginLogSampler(1.0), admissionControl,
+                LAST_SEEN_INTERVAL, clock);
+        service.initRestOperations();
+    }
+
+    @Test
+    void unchangedProfileWithinTheIntervalWritesNoUserRow() {
+        stored = user("user@example.com", "Kim", now().minusMinutes(1));
+
+        UserPrincipal principal = (UserPrincipal) login("user@example.com", "Kim");
+
+        assertThat(principal.getUserId()).isEqualTo(42L);
+        verify(userRepository, never()).updateLastLoginAt(anyLong(), any());
+        verify(userRepository, never()).upsert(any(), any(), any(), any(), any());
+        verify(eventOutbox).append(any(UserLoggedIn.class));
+        assertThat(meterRegistry.get(OAuth2UserService.USER_ROW_WRITES_AVOIDED_METRIC).counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void lastLoginAtIsWrittenAtMostOncePerInterval() {
+        stored = user("user@example.com", "Kim", now().minusHours(1));
+
+        login("user@example.com", "Kim");
+        LocalDateTime firstWrite = now();
+        clock.advance(Duration.ofMinutes(10));
+        login("user@example.com", "Kim");
+        clock.advance(Duration.ofMinutes(4));
+        login("user@example.com", "Kim");
+
+        verify(userRepository, times(1)).updateLastLoginAt(42L, firstWrite);
+        assertThat(stored.getLastLoginAt()).isEqualTo(firstWrite);
+
+        clock.advance(Duration.ofMinutes(1));
+        login("user@example.com", "Kim");
+
+        verify(userRepository, times(2)).updateLastLoginAt(eq(42L), any());
+        assertThat(stored.getLastLoginAt()).isEqualTo(now());
+        verify(eventOutbox, times(4)).append(any(UserLoggedIn.class));
+    }
+
+    @Test
+    void changedEmailIsWritten() {
+        stored = user("old@example.com", "Kim", now().minusMinutes(1));
+
+        login("new@example.com", "Kim");
+
+        verify(userRepository).upsert("kakao", OAUTH_ID, "new@example.com", "Kim", now());
+        assertThat(stored.getEmail()).isEqualTo("new@example.com");
+    }
+
+    @Test
+    void changedNameIsWrittenAndServedOnTheNextLogin() {
+        stored = user("user@example.com", "Kim", now().minusMinutes(1));
+
+        login("user@example.com", "Lee");
+        clock.advance(Duration.ofMinutes(1));
+        login("user@example.com", "Lee");
+
+        // The second login sees the new name: no second profile write
+        verify(userRepository, times(1)).upsert("kakao", OAUTH_ID, "user@example.com", "Lee",
+                now().minusMinutes(1));
+        verify(userRepository, never()).updateLastLoginAt(anyLong(), any());
+        assertThat(stored.getName()).isEqualTo("Lee");
+    }
+
+    private Object login(String email, String nickname) {
+        Map<String, Object> attributes = Map.of(
+                "id", Long.parseLong(OAUTH_ID),
+                "kakao_account", Map.of("email", email, "profile", Map.of("nickname", nickname)));
+        when(restTemplate.exchange(
+                ArgumentMatchers.<RequestEntity<?>>any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+                .thenReturn(ResponseEntity.ok(attributes));
+        Instant issuedAt = clock.instant();
+        return service.loadUser(new OAuth2UserRequest(KAKAO, new OAuth2AccessToken(
+                OAuth2AccessToken.TokenType.BEARER, "token", issuedAt, issuedAt.plusSeconds(60))));
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static User user(String email, String name, LocalDateTime lastLoginAt) {
+        return User.builder().id(42L).provider("kakao").oauthId(OAUTH_ID).email(email).name(name)
+                .role(Role.USER).lastLoginAt(lastLoginAt).build();
+    }
+
+    private static User copy(User user) {
+        return user(user.getEmail(), user.getName(), user.getLastLoginAt());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
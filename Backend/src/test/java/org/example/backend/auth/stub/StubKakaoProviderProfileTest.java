@@ -0,0 +1,48 @@
+package org.example.backend.auth.stub;
+
+import org.example.backend.User.Domain.Role;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// No stub-provider profile: a Kakao registration as a deployment would configure it
+@SpringBootTest(properties = {
+        "spring.security.oauth2.client.registration.kakao.client-id=client",
+        "spring.security.oauth2.client.registration.kakao.authorization-grant-type=authorization_code",
+        "spring.security.oauth2.client.registration.kakao.redirect-uri={baseUrl}/login/oauth2/code/{registrationId}",
+        "spring.security.oauth2.client.provider.kakao.authorization-uri=https://kauth.kakao.com/oauth/authorize",
+        "spring.security.oauth2.client.provider.kakao.token-uri=https://kauth.kakao.com/oauth/token",
+        "spring.security.oauth2.client.provider.kakao.user-info-uri=https://kapi.kakao.com/v2/user/me",
+        "spring.security.oauth2.client.provider.kakao.user-name-attribute=id"
+})
+@AutoConfigureMockMvc
+class StubKakaoProviderProfileTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void stubEndpointsAreAbsentWithoutTheProfile() throws Exception {
+        assertThat(context.getBeanProvider(StubKakaoProviderController.class).getIfAvailable()).isNull();
+
+        // Not permitted anonymously, and nothing behind it for a logged-in user
+        mockMvc.perform(get("/stub/kakao/oauth/authorize")).andExpect(status().is3xxRedirection());
+        UserPrincipal principal = new UserPrincipal(1L, "kakao", "987654321", Role.USER);
+        mockMvc.perform(get("/stub/kakao/v2/user/me").with(authentication(
+                        new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "kakao"))))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.backend.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadOnlyRoutingDataSourceTest {
+
+    private static final String CURRENT_DATABASE = "SELECT DATABASE()";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource routing = ReadOnlyRoutingDataSource.routing(
+                new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", ""),
+                new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void writesAndNonTransactionalCallsUsePrimary() {
+        assertThat(inTransaction(readWrite)).isEqualTo("PRIMARY");
+        assertThat(currentDatabase()).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(inTransaction(readOnly)).isEqualTo("REPLICA");
+    }
+
+    @Test
+    void readYourWritesForcesPrimary() {
+        String database = ReplicaRouting.onPrimary(() -> inTransaction(readOnly));
+        assertThat(database).isEqualTo("PRIMARY");
+        assertThat(inTransaction(readOnly)).isEqualTo("REPLICA");
+    }
+
+    private String inTransaction(TransactionTemplate transaction) {
+        return transaction.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class);
+    }
+}
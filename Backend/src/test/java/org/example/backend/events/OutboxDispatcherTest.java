@@ -0,0 +1,290 @@
+package org.example.backend.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.backend.User.Event.UserLoggedIn;
+import org.example.backend.User.Event.UserRegistered;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Serial;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EventOutbox and OutboxDispatcher on H2, with the event_outbox table from schema.sql
+ */
+class OutboxDispatcherTest {
+
+    private static final Instant START = Instant.parse("2024-06-01T00:00:00Z");
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(10);
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final TransactionTemplate transactionTemplate =
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final MutableClock clock = new MutableClock(START);
+
+    private final List<Object> delivered = new CopyOnWriteArrayList<>();
+    private volatile Consumer<Object> listener = delivered::add;
+
+    private EventOutbox outbox;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS event_outbox");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        outbox = new EventOutbox(jdbcTemplate, objectMapper, clock);
+        dispatcher = dispatcher(100);
+    }
+
+    @Test
+    void deliversCommittedEventsInOrderAndDeletesThem() {
+        UserRegistered registered = new UserRegistered(1L, "kakao", START);
+        UserLoggedIn loggedIn = new UserLoggedIn(1L, "kakao", START);
+        append(registered, loggedIn);
+
+        dispatcher.dispatch();
+
+        assertThat(delivered).containsExactly(registered, loggedIn);
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void rolledBackEventIsNeverDelivered() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.append(new UserLoggedIn(1L, "kakao", START));
+            status.setRollbackOnly();
+        });
+
+        dispatcher.dispatch();
+
+        assertThat(delivered).isEmpty();
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void eventSurvivesListenerFailureAndIsRetried() {
+        UserLoggedIn event = new UserLoggedIn(7L, "kakao", START);
+        append(event);
+        listener = failed -> {
+            throw new IllegalStateException("listener down");
+        };
+
+        dispatcher.dispatch();
+        assertThat(rows()).isOne();
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM event_outbox", Integer.class)).isOne();
+
+        // Listener back, but the retry is not due yet
+        listener = delivered::add;
+        clock.advance(RETRY_DELAY.minusMillis(1));
+        dispatcher.dispatch();
+        assertThat(delivered).isEmpty();
+
+        clock.advance(Duration.ofMillis(1));
+        dispatcher.dispatch();
+        assertThat(delivered).containsExactly(event);
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void failureOfOneEventDoesNotHoldBackTheBatch() {
+        UserLoggedIn failing = new UserLoggedIn(1L, "kakao", START);
+        UserLoggedIn healthy = new UserLoggedIn(2L, "kakao", START);
+        append(failing, healthy);
+        listener = event -> {
+            if (event.equals(failing)) {
+                throw new IllegalStateException("rejected");
+            }
+            delivered.add(event);
+        };
+
+        dispatcher.dispatch();
+
+        assertThat(delivered).containsExactly(healthy);
+        assertThat(rows()).isOne();
+    }
+
+    @Test
+    void eventIsDeadLetteredAfterMaxAttempts() {
+        UserLoggedIn poison = new UserLoggedIn(1L, "kakao", START);
+        UserLoggedIn healthy = new UserLoggedIn(2L, "kakao", START);
+        append(poison);
+        listener = event -> {
+            if (event.equals(poison)) {
+                throw new IllegalStateException("rejected");
+            }
+            delivered.add(event);
+        };
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            assertThat(dispatcher.dispatchBatch()).isOne();
+            assertThat(failedAt()).isNull();
+            clock.advance(Duration.ofMinutes(10));
+        }
+        assertThat(dispatcher.dispatchBatch()).isOne();
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM event_outbox", Integer.class))
+                .isEqualTo(MAX_ATTEMPTS);
+        assertThat(failedAt()).isEqualTo(Timestamp.from(clock.instant()));
+
+        // Kept for inspection, but skipped: later events are delivered, the dead letter is not claimed again
+        append(healthy);
+        clock.advance(Duration.ofHours(1));
+        dispatcher.dispatch();
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(delivered).containsExactly(healthy);
+        assertThat(rows()).isOne();
+    }
+
+    @Test
+    void backlogIsDrainedInBatches() {
+        List<Object> events = new ArrayList<>();
+        for (long id = 0; id < 250; id++) {
+            events.add(new UserLoggedIn(id, "kakao", START));
+        }
+        append(events.toArray());
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(100);
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(100);
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(50);
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(delivered).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    void oneRunDrainsTheWholeBacklog() {
+        for (long id = 0; id < 250; id++) {
+            append(new UserLoggedIn(id, "kakao", START));
+        }
+
+        dispatcher.dispatch();
+
+        assertThat(delivered).hasSize(250);
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void claimedEventsAreNotDeliveredByAnotherInstance() {
+        append(new UserLoggedIn(1L, "kakao", START));
+        OutboxDispatcher otherInstance = dispatcher(100);
+        List<Integer> claimedByOther = new ArrayList<>();
+        listener = event -> {
+            claimedByOther.add(otherInstance.dispatchBatch());
+            delivered.add(event);
+        };
+
+        dispatcher.dispatch();
+
+        assertThat(claimedByOther).containsExactly(0);
+        assertThat(delivered).hasSize(1);
+    }
+
+    @Test
+    void eventOfAStoppedInstanceIsRedeliveredAfterTheLease() {
+        UserLoggedIn event = new UserLoggedIn(1L, "kakao", START);
+        append(event);
+        listener = stopped -> {
+            throw new InstanceStopped();
+        };
+        assertThatThrownBy(dispatcher::dispatchBatch).isInstanceOf(InstanceStopped.class);
+        listener = delivered::add;
+
+        clock.advance(LEASE.minusMillis(1));
+        dispatcher.dispatch();
+        assertThat(delivered).isEmpty();
+
+        clock.advance(Duration.ofMillis(1));
+        dispatcher.dispatch();
+        assertThat(delivered).containsExactly(event);
+    }
+
+    @Test
+    void retryDelayDoublesUpToTheMaximum() {
+        assertThat(dispatcher.retryDelay(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(dispatcher.retryDelay(2)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(dispatcher.retryDelay(3)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(dispatcher.retryDelay(10)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(dispatcher.retryDelay(1_000)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize) {
+        return new OutboxDispatcher(jdbcTemplate, transactionTemplate, event -> listener.accept(event), objectMapper,
+                clock, batchSize, LEASE, RETRY_DELAY, Duration.ofMinutes(10), MAX_ATTEMPTS);
+    }
+
+    private void append(Object... events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object event : events) {
+                outbox.append(event);
+            }
+        });
+    }
+
+    private Timestamp failedAt() {
+        return jdbcTemplate.queryForObject("SELECT failed_at FROM event_outbox", Timestamp.class);
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Integer.class);
+    }
+
+    /**
+     * Stands for the JVM stopping in the middle of a batch: not caught by the dispatcher
+     */
+    private static final class InstanceStopped extends Error {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.health;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceReadinessTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String SATURATED = "db-pool-saturated:primary";
+
+    private final ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+    private final AtomicLong clock = new AtomicLong(987_654_321L);
+    private volatile String overloadReason;
+    private InstanceReadiness readiness;
+
+    @BeforeEach
+    void setUp() {
+        // refresh 1s, overload-after 3s, recovery-delay 5s, max-shed 10s
+        readiness = new InstanceReadiness(availability, () -> overloadReason, clock::get,
+                Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofSeconds(5), Duration.ofSeconds(10));
+        setReadinessState(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void refusingTrafficIsNotReady() {
+        setReadinessState(ReadinessState.REFUSING_TRAFFIC);
+
+        assertThat(readiness.readiness()).isEqualTo(new InstanceReadiness.Status(false, "refusing-traffic"));
+    }
+
+    @Test
+    void shortSaturationDoesNotShed() {
+        overloadReason = SATURATED;
+        for (int i = 0; i < 3; i++) {
+            assertReady();
+            advance(SECOND);
+        }
+        overloadReason = null;
+        assertReady();
+
+        // A new burst starts the sustained-saturation window over
+        overloadReason = SATURATED;
+        advance(SECOND);
+        assertReady();
+    }
+
+    @Test
+    void sustainedSaturationShedsUntilRecoveryDelayPasses() {
+        overloadReason = SATURATED;
+        for (int i = 0; i < 3; i++) {
+            assertReady();
+            advance(SECOND);
+        }
+        assertThat(readiness.readiness()).isEqualTo(new InstanceReadiness.Status(false, SATURATED));
+
+        overloadReason = null;
+        for (int i = 0; i < 4; i++) {
+            advance(SECOND);
+            assertThat(readiness.readiness().ready()).isFalse();
+        }
+        advance(SECOND);
+        assertReady();
+    }
+
+    @Test
+    void sheddingIsBoundedByMaxShed() {
+        overloadReason = SATURATED;
+        readiness.readiness();
+        advance(3 * SECOND);
+        assertThat(readiness.readiness().ready()).isFalse();
+
+        advance(9 * SECOND);
+        assertThat(readiness.readiness().ready()).isFalse();
+        advance(SECOND);
+        assertReady();
+
+        // Overload is ignored for another max-shed, even though saturation persists
+        for (int i = 0; i < 9; i++) {
+            advance(SECOND);
+            assertReady();
+        }
+        advance(SECOND);
+        assertThat(readiness.readiness().ready()).isFalse();
+    }
+
+    @Test
+    void evaluatesAtMostOncePerRefreshInterval() {
+        overloadReason = SATURATED;
+        readiness.readiness();
+        advance(3 * SECOND);
+        assertThat(readiness.readiness().ready()).isFalse();
+
+        overloadReason = null;
+        advance(5 * SECOND);
+        assertThat(readiness.readiness().ready()).isTrue();
+        overloadReason = SATURATED;
+        advance(SECOND / 2);
+        // Cached until the next interval: no new saturation window is started yet
+        assertReady();
+    }
+
+    private void assertReady() {
+        assertThat(readiness.readiness().ready()).isTrue();
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+
+    private void setReadinessState(ReadinessState state) {
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, state));
+    }
+}
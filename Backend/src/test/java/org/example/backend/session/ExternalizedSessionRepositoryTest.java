@@ -0,0 +1,225 @@
+package org.example.backend.session;
+
+import org.example.backend.session.ExternalizedSessionRepository.StoredSession;
+import org.example.backend.session.SessionStore.SessionWrite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExternalizedSessionRepositoryTest {
+
+    private final SessionCodec codec = new SessionCodec(true, 256, getClass().getClassLoader());
+    private final RecordingStore store = new RecordingStore();
+    private ExternalizedSessionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Scheduled flush and cleanup effectively disabled, the tests call flush() themselves
+        repository = new ExternalizedSessionRepository(store, codec,
+                Duration.ofMinutes(30), Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        store.release();
+        repository.destroy();
+    }
+
+    @Test
+    void savedSessionIsServedFromPendingUntilFlushed() {
+        StoredSession session = save("v1");
+
+        assertThat(store.sessions).isEmpty();
+        assertThat(attribute(repository.findById(session.getId()))).isEqualTo("v1");
+
+        repository.flush();
+        repository.flush();
+        assertThat(store.batches).hasSize(1);
+        assertThat(storedAttribute(session.getId())).isEqualTo("v1");
+        assertThat(attribute(repository.findById(session.getId()))).isEqualTo("v1");
+    }
+
+    @Test
+    void unchangedSessionIsNotRewritten() {
+        StoredSession session = save("v1");
+        repository.flush();
+
+        StoredSession loaded = repository.findById(session.getId());
+        loaded.setLastAccessedTime(loaded.getLastAccessedTime().plusSeconds(1));
+        repository.save(loaded);
+        repository.flush();
+
+        assertThat(store.batches).hasSize(1);
+    }
+
+    @Test
+    void deleteAfterSaveWins() {
+        StoredSession session = save("v1");
+        repository.deleteById(session.getId());
+
+        assertThat(repository.findById(session.getId())).isNull();
+        repository.flush();
+        assertThat(store.sessions).isEmpty();
+    }
+
+    @Test
+    void changedSessionIdRemovesTheOldId() {
+        StoredSession session = save("v1");
+        repository.flush();
+        String oldId = session.getId();
+
+        StoredSession loaded = repository.findById(oldId);
+        loaded.changeSessionId();
+        repository.save(loaded);
+        repository.flush();
+
+        assertThat(store.sessions).containsOnlyKeys(loaded.getId());
+        assertThat(repository.findById(oldId)).isNull();
+    }
+
+    @Test
+    void writeReplacedDuringFlushIsKeptForTheNextFlush() throws Exception {
+        StoredSession session = save("v1");
+        store.blockNextWrite();
+        Thread flusher = Thread.ofPlatform().start(repository::flush);
+        store.awaitBlockedWrite();
+
+        session.setAttribute("value", "v2");
+        repository.save(session);
+        store.release();
+        flusher.join();
+
+        assertThat(storedAttribute(session.getId())).isEqualTo("v1");
+        assertThat(attribute(repository.findById(session.getId()))).isEqualTo("v2");
+        repository.flush();
+        assertThat(storedAttribute(session.getId())).isEqualTo("v2");
+    }
+
+    @Test
+    void concurrentFlushesNeverApplyAnOlderBatchLast() throws Exception {
+        StoredSession session = save("v1");
+        store.blockNextWrite();
+        Thread first = Thread.ofPlatform().start(repository::flush);
+        store.awaitBlockedWrite();
+
+        session.setAttribute("value", "v2");
+        repository.save(session);
+        Thread second = Thread.ofPlatform().start(repository::flush);
+        awaitWaiting(second);
+        store.release();
+        first.join();
+        second.join();
+
+        assertThat(store.batches).hasSize(2);
+        assertThat(storedAttribute(session.getId())).isEqualTo("v2");
+    }
+
+    @Test
+    void expiredSessionIsNotReturned() {
+        StoredSession session = repository.createSession();
+        session.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        repository.save(session);
+
+        assertThat(repository.findById(session.getId())).isNull();
+    }
+
+    @Test
+    void undecodableSessionIsDiscarded() {
+        store.sessions.put("broken", new byte[]{9, 9, 9});
+
+        assertThat(repository.findById("broken")).isNull();
+        repository.flush();
+        assertThat(store.sessions).doesNotContainKey("broken");
+    }
+
+    private StoredSession save(String value) {
+        StoredSession session = repository.createSession();
+        session.setAttribute("value", value);
+        repository.save(session);
+        return session;
+    }
+
+    private static String attribute(StoredSession session) {
+        return session.getAttribute("value");
+    }
+
+    private String storedAttribute(String id) {
+        return codec.decode(store.sessions.get(id)).getAttribute("value");
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * In-memory SessionStore recording batches, optionally blocking inside the next write
+     */
+    private static final class RecordingStore implements SessionStore {
+
+        private final Map<String, byte[]> sessions = new ConcurrentHashMap<>();
+        private final List<List<SessionWrite>> batches = new ArrayList<>();
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private volatile boolean blockNext;
+
+        void blockNextWrite() {
+            blockNext = true;
+        }
+
+        void awaitBlockedWrite() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public byte[] load(String id) {
+            return sessions.get(id);
+        }
+
+        @Override
+        public void write(List<SessionWrite> batch) {
+            if (blockNext) {
+                blockNext = false;
+                blocked.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (batches) {
+                batches.add(List.copyOf(batch));
+            }
+            for (SessionWrite write : batch) {
+                if (write.isDelete()) {
+                    sessions.remove(write.id());
+                } else {
+                    sessions.put(write.id(), write.payload());
+                }
+            }
+        }
+
+        @Override
+        public int purgeExpired(long nowMillis) {
+            return 0;
+        }
+    }
+}
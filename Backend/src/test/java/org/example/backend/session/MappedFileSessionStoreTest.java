@@ -0,0 +1,240 @@
+package org.example.backend.session;
+
+import org.example.backend.session.SessionStore.SessionWrite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedFileSessionStoreTest {
+
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 512;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    @TempDir
+    private Path directory;
+
+    private MappedFileSessionStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void storesUpdatesAndDeletes() throws IOException {
+        store = open(16);
+
+        put("a", payload(10, 1));
+        put("b", payload(20, 2));
+        put("a", payload(30, 3));
+        store.write(List.of(SessionWrite.delete("b")));
+
+        assertThat(store.load("a")).isEqualTo(payload(30, 3));
+        assertThat(store.load("b")).isNull();
+        assertThat(store.load("missing")).isNull();
+    }
+
+    @Test
+    void expiredSessionsAreNotLoadedAndPurged() throws IOException {
+        store = open(16);
+        long now = System.currentTimeMillis();
+        store.write(List.of(new SessionWrite("old", payload(10, 1), now - 1),
+                new SessionWrite("live", payload(10, 2), now + 60_000)));
+
+        assertThat(store.load("old")).isNull();
+        assertThat(store.purgeExpired(now)).isEqualTo(1);
+        assertThat(store.load("live")).isEqualTo(payload(10, 2));
+    }
+
+    @Test
+    void probeChainSurvivesDeleteAndReinsert() throws IOException {
+        store = open(16);
+        List<String> chain = colliding(3);
+
+        for (int i = 0; i < chain.size(); i++) {
+            put(chain.get(i), payload(10, i));
+        }
+        // Tombstone in the middle: the entry behind it must stay reachable
+        store.write(List.of(SessionWrite.delete(chain.get(1))));
+        assertThat(store.load(chain.get(1))).isNull();
+        assertThat(store.load(chain.get(2))).isEqualTo(payload(10, 2));
+
+        // Updating an entry behind the tombstone updates it in place, no duplicate in the reused slot
+        put(chain.get(2), payload(10, 22));
+        store.write(List.of(SessionWrite.delete(chain.get(2))));
+        assertThat(store.load(chain.get(2))).isNull();
+
+        // Reinsert reuses the tombstone, purge reclaims tombstones without breaking the chain
+        put(chain.get(1), payload(10, 11));
+        store.purgeExpired(System.currentTimeMillis());
+        assertThat(store.load(chain.get(0))).isEqualTo(payload(10, 0));
+        assertThat(store.load(chain.get(1))).isEqualTo(payload(10, 11));
+        assertThat(store.load(chain.get(2))).isNull();
+    }
+
+    @Test
+    void fullTableRejectsNewSessionsButAcceptsUpdates() throws IOException {
+        store = open(4);
+        for (int i = 0; i < 4; i++) {
+            put("s" + i, payload(10, i));
+        }
+
+        assertThatThrownBy(() -> put("s4", payload(10, 4)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("full");
+        put("s0", payload(10, 42));
+        assertThat(store.load("s0")).isEqualTo(payload(10, 42));
+        // Misses on a full table end after one round instead of looping
+        assertThat(store.load("s4")).isNull();
+
+        store.write(List.of(SessionWrite.delete("s1")));
+        put("s4", payload(10, 4));
+        assertThat(store.load("s4")).isEqualTo(payload(10, 4));
+    }
+
+    @Test
+    void rejectsOversizedPayload() throws IOException {
+        store = open(4);
+
+        assertThatThrownBy(() -> put("big", payload(SLOT_SIZE, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("slot-size");
+    }
+
+    @Test
+    void survivesReopen() throws IOException {
+        store = open(16);
+        put("a", payload(10, 1));
+        store.close();
+
+        store = open(16);
+        assertThat(store.load("a")).isEqualTo(payload(10, 1));
+    }
+
+    @Test
+    void rejectsDifferentGeometry() throws IOException {
+        store = open(16);
+        store.close();
+        store = null;
+
+        assertThatThrownBy(() -> open(32)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void recoversTornSlotOnOpen() throws IOException {
+        store = open(16);
+        put("torn", payload(10, 1));
+        put("intact", payload(10, 2));
+        int slot = store.homeSlot("torn");
+        store.close();
+        store = null;
+
+        // Crash in the middle of a write: sequence left odd
+        Path file = directory.resolve("sessions.db");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long sequenceOffset = HEADER_SIZE + (long) slot * SLOT_SIZE;
+            ByteBuffer sequence = ByteBuffer.allocate(4);
+            channel.read(sequence, sequenceOffset);
+            sequence.flip();
+            channel.write(ByteBuffer.allocate(4).putInt(0, sequence.getInt() | 1), sequenceOffset);
+        }
+
+        store = open(16);
+        assertThat(store.load("torn")).isNull();
+        assertThat(store.load("intact")).isEqualTo(payload(10, 2));
+        put("torn", payload(10, 3));
+        assertThat(store.load("torn")).isEqualTo(payload(10, 3));
+    }
+
+    @Test
+    void readersNeverSeeTornPayloads() throws Exception {
+        store = open(4);
+        put("hot", payload(16, 0));
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<?> writer = executor.submit(() -> {
+                try {
+                    for (int i = 1; i <= 20_000; i++) {
+                        put("hot", payload(16 + i % 400, i));
+                    }
+                } finally {
+                    writing.set(false);
+                }
+            });
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    int reads = 0;
+                    do {
+                        byte[] read = store.load("hot");
+                        assertThat(read).isNotNull();
+                        assertConsistent(read);
+                        reads++;
+                    } while (writing.get());
+                    return reads;
+                }));
+            }
+            writer.get();
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get()).isPositive();
+            }
+        }
+    }
+
+    private MappedFileSessionStore open(int slots) throws IOException {
+        return new MappedFileSessionStore(directory.resolve("sessions.db"), slots, SLOT_SIZE);
+    }
+
+    private void put(String id, byte[] payload) {
+        store.write(List.of(new SessionWrite(id, payload, NEVER)));
+    }
+
+    /**
+     * Ids sharing the home slot of the first one
+     */
+    private List<String> colliding(int count) {
+        List<String> ids = new ArrayList<>();
+        int home = store.homeSlot("c0");
+        for (int i = 0; ids.size() < count; i++) {
+            if (store.homeSlot("c" + i) == home) {
+                ids.add("c" + i);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * [seed:4][seed byte repeated], so a payload mixed from two writes is detectable
+     */
+    private static byte[] payload(int length, int seed) {
+        byte[] payload = new byte[length];
+        Arrays.fill(payload, (byte) seed);
+        ByteBuffer.wrap(payload).putInt(0, seed);
+        return payload;
+    }
+
+    private static void assertConsistent(byte[] read) {
+        int seed = ByteBuffer.wrap(read).getInt(0);
+        assertThat(read).isEqualTo(payload(16 + seed % 400, seed));
+    }
+}
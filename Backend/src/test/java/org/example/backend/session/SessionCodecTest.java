@@ -0,0 +1,54 @@
+package org.example.backend.session;
+
+import org.example.backend.User.Domain.Role;
+import org.example.backend.auth.principal.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.session.MapSession;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionCodecTest {
+
+    private static final String SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
+
+    private final SessionCodec codec = new SessionCodec(true, 256, getClass().getClassLoader());
+
+    @Test
+    void roundTripsSecurityContext() {
+        UserPrincipal principal = new UserPrincipal(42L, "kakao", "987654321", Role.ADMIN);
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(Duration.ofMinutes(30));
+        session.setAttribute(SECURITY_CONTEXT, new SecurityContextImpl(
+                new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "kakao")));
+        // Above the compression threshold
+        session.setAttribute("note", "x".repeat(1_000));
+
+        MapSession decoded = codec.decode(codec.encode(session));
+
+        assertThat(decoded.getId()).isEqualTo(session.getId());
+        assertThat(decoded.getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(30));
+        assertThat(decoded.<String>getAttribute("note")).hasSize(1_000);
+        SecurityContext context = decoded.getAttribute(SECURITY_CONTEXT);
+        assertThat(context.getAuthentication().getPrincipal()).isEqualTo(principal);
+        assertThat(context.getAuthentication().getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void rejectsClassesOutsideTheAllowList() {
+        MapSession session = new MapSession();
+        session.setAttribute("file", new File("/etc/passwd"));
+        byte[] encoded = codec.encode(session);
+
+        assertThatThrownBy(() -> codec.decode(encoded)).isInstanceOf(UncheckedIOException.class);
+    }
+}